@@ -0,0 +1,59 @@
+package catbot.bot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures running whole commands through {@link CatBot#run}, from parsing the line to the change to the list,
+ * against lists of different sizes. The list is only kept in memory, and the output is discarded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatBotBenchmark {
+
+    private static final int COMMAND_COUNT = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int taskCount;
+
+    private CatBot bot;
+    private String[] lines;
+    private int next;
+
+    /**
+     * Fills the list, and generates the commands to run against it.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bot = CommandMix.quietBot(CommandMix.filledTaskList(taskCount, random));
+        lines = CommandMix.generate(COMMAND_COUNT, taskCount, random);
+    }
+
+    /**
+     * Runs the next command of the mix, from the line the user would send.
+     * Adding a task and deleting it again count as two commands.
+     */
+    @Benchmark
+    public void run() {
+        bot.run(CommandArgumentStruct.parse(lines[next]));
+        next = next + 1 == lines.length ? 0 : next + 1;
+    }
+
+}
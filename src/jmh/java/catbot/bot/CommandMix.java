@@ -0,0 +1,154 @@
+package catbot.bot;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import catbot.io.CatBotBatchIo;
+import catbot.io.UserIo;
+import catbot.task.TaskList;
+
+/**
+ * Generates commands for the benchmarks, following the grammar of the todo, deadline, event, mark and find commands,
+ * in roughly the proportions a user sends them.
+ * <p>
+ * Descriptions are drawn from a small vocabulary, so that finding a word matches a fixed share of the tasks,
+ * whatever the size of the list.
+ */
+public final class CommandMix {
+
+    //region Constants
+
+    /**
+     * Words that descriptions are made of, and that find looks for.
+     */
+    public static final String[] WORDS = {
+        "read", "book", "return", "library", "submit", "report", "meet", "team", "buy", "groceries",
+        "call", "mum", "fix", "bike", "pay", "rent", "plan", "trip", "clean", "room",
+        "email", "professor", "review", "notes", "water", "plants", "tickets", "flight", "project", "demo",
+        "walk", "dog"
+    };
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS_SPANNED = 730;
+    private static final int MAX_EVENT_DAYS = 14;
+    private static final int MAX_WORDS = 4;
+
+    private static final int TODO_WEIGHT = 30;
+    private static final int DEADLINE_WEIGHT = 20;
+    private static final int EVENT_WEIGHT = 10;
+    private static final int MARK_WEIGHT = 20;
+    private static final int TOTAL_WEIGHT = 100;
+
+    //endregion
+
+    //region Constructor
+
+    private CommandMix() {
+    }
+
+    //endregion
+
+    //region Generation
+
+    /**
+     * Generates commands to run against a list that starts with the given number of tasks.
+     * Every command that adds a task is followed by {@code delete} of that task,
+     * so the list stays the same size however many times the commands are run.
+     *
+     * @param count     number of commands to generate, not counting the deletes.
+     * @param taskCount number of tasks in the list, at least one.
+     * @param random    source of randomness, seeded for the same commands on every run.
+     * @return the commands, in the order they should be run.
+     */
+    public static String[] generate(int count, int taskCount, Random random) {
+        String delete = "delete " + (taskCount + 1);
+        String[] lines = new String[2 * count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            if (roll < TODO_WEIGHT + DEADLINE_WEIGHT + EVENT_WEIGHT) {
+                lines[size++] = addCommand(random);
+                lines[size++] = delete;
+            } else if (roll < TODO_WEIGHT + DEADLINE_WEIGHT + EVENT_WEIGHT + MARK_WEIGHT) {
+                lines[size++] = "mark " + (random.nextInt(taskCount) + 1);
+            } else {
+                lines[size++] = "find " + WORDS[random.nextInt(WORDS.length)];
+            }
+        }
+        return Arrays.copyOf(lines, size);
+    }
+
+    /**
+     * Generates a command that adds a todo, deadline or event.
+     *
+     * @param random source of randomness.
+     * @return the command.
+     */
+    public static String addCommand(Random random) {
+        int roll = random.nextInt(TODO_WEIGHT + DEADLINE_WEIGHT + EVENT_WEIGHT);
+        String description = description(random);
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS_SPANNED));
+        if (roll < TODO_WEIGHT) {
+            return "todo " + description;
+        } else if (roll < TODO_WEIGHT + DEADLINE_WEIGHT) {
+            return "deadline " + description + " /by " + date;
+        } else {
+            return "event " + description + " /from " + date + " /to " + date.plusDays(random.nextInt(MAX_EVENT_DAYS));
+        }
+    }
+
+    /**
+     * Generates a description of one to four words from the vocabulary.
+     *
+     * @param random source of randomness.
+     * @return the description.
+     */
+    public static String description(Random random) {
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        int words = random.nextInt(MAX_WORDS);
+        for (int i = 0; i < words; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    //endregion
+
+    //region Setup
+
+    /**
+     * Creates a bot whose output is discarded, so that only the work of running commands is measured.
+     *
+     * @param taskList list for the bot to operate on.
+     * @return the initialized bot.
+     */
+    public static CatBot quietBot(TaskList taskList) {
+        UserIo io = new CatBotBatchIo(InputStream.nullInputStream(), OutputStream.nullOutputStream());
+        CatBot bot = new CatBot(taskList);
+        io.initialize();
+        bot.initialize(io);
+        return bot;
+    }
+
+    /**
+     * Creates a list that is only kept in memory, filled by running generated add commands through a bot.
+     *
+     * @param taskCount number of tasks to add.
+     * @param random    source of randomness.
+     * @return the filled list.
+     */
+    public static TaskList filledTaskList(int taskCount, Random random) {
+        TaskList taskList = new TaskList((String) null);
+        CatBot bot = quietBot(taskList);
+        for (int i = 0; i < taskCount; i++) {
+            bot.run(CommandArgumentStruct.parse(addCommand(random)));
+        }
+        return taskList;
+    }
+
+    //endregion
+
+}
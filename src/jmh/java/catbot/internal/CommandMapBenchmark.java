@@ -0,0 +1,74 @@
+package catbot.internal;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import catbot.bot.CommandArgumentStruct;
+import catbot.bot.CommandMix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures dispatching generated commands through a CommandMap holding the invocations of CatBot,
+ * with commands that do nothing but consume their argument, so only the lookup is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandMapBenchmark {
+
+    private static final String[] INVOCATIONS = {
+        "bye", "list", "begin", "commit", "rollback", "mark", "unmark", "delete", "todo", "event", "deadline",
+        "find", "next", "due", "on", "overlapping", "edit"
+    };
+    private static final int COMMAND_COUNT = 1024;
+
+    private final CommandMap commands = new CommandMap();
+    private String[] invocations;
+    private String[] arguments;
+    private int next;
+
+    /**
+     * Adds the commands, and generates the invocations to dispatch.
+     *
+     * @param blackhole sink for the arguments the commands are run with.
+     */
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        for (String invocation : INVOCATIONS) {
+            commands.addCommand(invocation, blackhole::consume);
+        }
+        commands.setDefaultCommand(blackhole::consume);
+
+        String[] lines = CommandMix.generate(COMMAND_COUNT, COMMAND_COUNT, new Random(42));
+        invocations = new String[lines.length];
+        arguments = new String[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            CommandArgumentStruct command = CommandArgumentStruct.parse(lines[i]);
+            invocations[i] = command.getCommand();
+            arguments[i] = command.getArgument();
+        }
+    }
+
+    /**
+     * Dispatches the next command of the mix.
+     */
+    @Benchmark
+    public void run() {
+        commands.run(invocations[next], arguments[next]);
+        next = next + 1 == invocations.length ? 0 : next + 1;
+    }
+
+}
@@ -0,0 +1,74 @@
+package catbot.internal;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import catbot.bot.CommandArgumentStruct;
+import catbot.bot.CommandMix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing the arguments of generated commands with slashes, as the todo, deadline and event commands do,
+ * into a NamedParameterMap and into the reused view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final int ARGUMENT_COUNT = 1024;
+
+    private final Parser parser = Parser.with("/", true);
+    private String[] arguments;
+    private int next;
+
+    /**
+     * Generates the arguments to parse.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        arguments = new String[ARGUMENT_COUNT];
+        for (int i = 0; i < ARGUMENT_COUNT; i++) {
+            arguments[i] = CommandArgumentStruct.parse(CommandMix.addCommand(random)).getArgument();
+        }
+    }
+
+    /**
+     * Parses the next arguments into a new map.
+     *
+     * @return the map.
+     */
+    @Benchmark
+    public NamedParameterMap parse() {
+        return parser.parse(nextArguments());
+    }
+
+    /**
+     * Scans the next arguments into the view of the parser.
+     *
+     * @return the number of parameters found.
+     */
+    @Benchmark
+    public int scan() {
+        return parser.scan(nextArguments()).size();
+    }
+
+    private String nextArguments() {
+        next = next + 1 == arguments.length ? 0 : next + 1;
+        return arguments[next];
+    }
+
+}
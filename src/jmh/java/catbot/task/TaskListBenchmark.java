@@ -0,0 +1,66 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import catbot.bot.CommandMix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures searching and listing a TaskList of different sizes, as the find and list commands do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private int nextWord;
+
+    /**
+     * Fills the list with generated tasks.
+     */
+    @Setup
+    public void setUp() {
+        taskList = CommandMix.filledTaskList(taskCount, new Random(42));
+    }
+
+    /**
+     * Finds the tasks containing the next word of the vocabulary, as {@code find} does.
+     *
+     * @return the tasks found.
+     */
+    @Benchmark
+    public TaskList findInDescriptions() {
+        nextWord = nextWord + 1 == CommandMix.WORDS.length ? 0 : nextWord + 1;
+        return taskList.findInDescriptions(CommandMix.WORDS[nextWord], TaskFilter.ALL);
+    }
+
+    /**
+     * Formats every task, as {@code list} does.
+     *
+     * @return the formatted tasks.
+     */
+    @Benchmark
+    public ArrayList<String> getTaskStrings() {
+        return taskList.getTaskStrings();
+    }
+
+}
@@ -1,22 +1,73 @@
 package catbot;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+
 import catbot.bot.CatBot;
+import catbot.io.CatBotBatchIo;
 import catbot.io.CatBotJavaFxIo;
+import catbot.io.CatBotServerIo;
 import catbot.io.UserIo;
+import catbot.task.ColumnarTaskStore;
+import catbot.task.OffHeapTaskStore;
+import catbot.task.PagedTaskStore;
 import catbot.task.TaskList;
 
 /**
  * Entrypoint for the CatBot Assistant.
  * Contains a public static void main to run.
+ * Run with {@value #PAGED_FLAG} to keep tasks in a paged store on disk, instead of loading them all into memory,
+ * or with {@value #COLUMNAR_FLAG} to keep them in memory column by column, instead of as one object per task,
+ * or with {@value #OFF_HEAP_FLAG} to keep them in memory outside the Java heap.
+ * Run with {@value #SERVER_FLAG} to serve sessions over TCP on port {@value #SERVER_PORT} of this machine,
+ * instead of opening a window.
+ * Run with {@value #BATCH_FLAG} to run the commands read from standard input, one per line, without a window;
+ * changes are then written to storage {@value #MAX_DEFERRED_WRITES} at a time, and once the commands are done,
+ * so it cannot be used with {@value #PAGED_FLAG}, which writes each change as it is made.
  */
 public class CatBotEntrypoint {
 
+    private static final String PAGED_FLAG = "--paged";
+    private static final String COLUMNAR_FLAG = "--columnar";
+    private static final String OFF_HEAP_FLAG = "--off-heap";
+    private static final String SERVER_FLAG = "--server";
+    private static final int SERVER_PORT = 4747;
+    private static final String BATCH_FLAG = "--batch";
+    private static final int MAX_DEFERRED_WRITES = 4096;
+
     public static void main(String[] args) {
-        CatBot catBot = new CatBot(new TaskList("Tasks.txt"));
-        UserIo userIo = new CatBotJavaFxIo();
+        if (Arrays.asList(args).contains(BATCH_FLAG) && Arrays.asList(args).contains(PAGED_FLAG)) {
+            // the paged store writes each change as it is made, so there are no writes to defer
+            System.err.println(BATCH_FLAG + " cannot be used with " + PAGED_FLAG);
+            return;
+        }
+        TaskList taskList;
+        if (Arrays.asList(args).contains(PAGED_FLAG)) {
+            taskList = new TaskList(PagedTaskStore.open("Tasks"));
+        } else if (Arrays.asList(args).contains(COLUMNAR_FLAG)) {
+            taskList = new TaskList("Tasks.txt", ColumnarTaskStore::new);
+        } else if (Arrays.asList(args).contains(OFF_HEAP_FLAG)) {
+            taskList = new TaskList("Tasks.txt", OffHeapTaskStore::new);
+        } else {
+            taskList = new TaskList("Tasks.txt");
+        }
+        CatBot catBot = new CatBot(taskList);
+        // commands may be running on another thread, so the flush waits for the one in progress to finish
+        Runtime.getRuntime().addShutdownHook(new Thread(catBot::flushTaskList));
+        UserIo userIo;
+        if (Arrays.asList(args).contains(BATCH_FLAG)) {
+            taskList.deferWrites(MAX_DEFERRED_WRITES);
+            userIo = new CatBotBatchIo(System.in, System.out);
+        } else if (Arrays.asList(args).contains(SERVER_FLAG)) {
+            userIo = new CatBotServerIo(new InetSocketAddress(InetAddress.getLoopbackAddress(), SERVER_PORT));
+        } else {
+            userIo = new CatBotJavaFxIo();
+        }
         userIo.initialize();
         catBot.initialize(userIo);
         userIo.takeoverExecutionLogic(catBot);
+        catBot.flushTaskList();
     }
 
 }
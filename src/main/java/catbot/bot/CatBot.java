@@ -1,6 +1,9 @@
 package catbot.bot;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -8,14 +11,18 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
+import catbot.internal.ArgumentSchema;
+import catbot.internal.BoundArguments;
 import catbot.internal.CommandMap;
 import catbot.internal.CommandPattern;
 import catbot.internal.NamedParameterMap;
+import catbot.internal.ParameterView;
 import catbot.io.ErrorIndicatorIo;
 import catbot.io.UserIo;
 import catbot.task.Deadline;
 import catbot.task.Event;
 import catbot.task.Task;
+import catbot.task.TaskFilter;
 import catbot.task.TaskList;
 import catbot.task.Todo;
 
@@ -24,6 +31,35 @@ import catbot.task.Todo;
  */
 public class CatBot implements Bot {
 
+    //region Constants
+
+    private static final int DEFAULT_NEXT_COUNT = 5;
+
+    private static final ArgumentSchema DATE_SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<LocalDate> DATE =
+            DATE_SCHEMA.required("", ArgumentSchema.Type.DATE, "date");
+
+    private static final ArgumentSchema RANGE_SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<LocalDate> FROM_DATE =
+            RANGE_SCHEMA.required("from", ArgumentSchema.Type.DATE, "from date");
+    private static final ArgumentSchema.Parameter<LocalDate> TO_DATE =
+            RANGE_SCHEMA.required("to", ArgumentSchema.Type.DATE, "to date");
+
+    private static final ArgumentSchema NEXT_SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<Integer> NEXT_COUNT =
+            NEXT_SCHEMA.optional("", ArgumentSchema.Type.COUNT, "count", DEFAULT_NEXT_COUNT);
+
+    private static final ArgumentSchema FIND_SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<String> FIND_TEXT =
+            FIND_SCHEMA.optional("", ArgumentSchema.Type.TEXT, "text", "");
+    private static final ArgumentSchema.Parameter<Boolean> FIND_WORD =
+            FIND_SCHEMA.optional("word", ArgumentSchema.Type.FLAG, "word");
+    private static final ArgumentSchema.Parameter<Integer> FIND_FUZZY =
+            FIND_SCHEMA.optional("fuzzy", ArgumentSchema.Type.COUNT, "fuzzy");
+    private static final Set<String> FIND_OPTIONS = Set.of("word", "fuzzy", "done", "undone", "type");
+
+    //endregion
+
     //region Fields
 
     private UserIo io;
@@ -53,8 +89,9 @@ public class CatBot implements Bot {
         addSupportedCommandsToCommandMap();
     }
 
+    // commands run one at a time, and never while the TaskList is being flushed
     @Override
-    public void run(CommandArgumentStruct commandArgumentStruct) {
+    public synchronized void run(CommandArgumentStruct commandArgumentStruct) {
         if (commandArgumentStruct == null) {
             return;
         }
@@ -63,6 +100,19 @@ public class CatBot implements Bot {
 
     //endregion
 
+    //region Storage
+
+    /**
+     * Waits for the command being run, if any, to finish, then blocks until every change made to the TaskList
+     * has been written to storage. Safe to call from any thread, such as a shutdown hook, as the TaskList is
+     * never written in the middle of a change.
+     */
+    public synchronized void flushTaskList() {
+        taskList.flush();
+    }
+
+    //endregion
+
     //region Internal Helpers
 
     private void initializeFields(UserIo userIo) {
@@ -79,8 +129,9 @@ public class CatBot implements Bot {
         * which acts to reduce redundant copy-pasting.
         * PATTERNS: command patterns are created using generators.
         * BI-CONSUMERS: bi-consumers are created out of otherwise repetitive combinations of patterns and behaviours.
-        *       eg: runIfValidIndexElseIndicateError uses an integerPattern and runs it through taskList's
-        *           ifValidIndexElse. Such behaviour is necessary for all simple modifications (mark, unmark, delete).
+        *       eg: runIfValidIndexElseIndicateError uses an integerPattern and runs it through one of taskList's
+        *           checked modifications, such as markTaskIfValidElse.
+        *           Such behaviour is necessary for all modifications by index (mark, unmark, delete, edit).
         * COMMANDS: every command is independent. If a command is giving a problem, look for the string that identifies
         *           the command, and debug from there. All other commands are irrelevant to the debugging of that
         *           command, and there is no higher-level interpretation of flow necessary.
@@ -90,56 +141,88 @@ public class CatBot implements Bot {
                 .generateUsingDefault(io::indicateInvalidInteger);
         CommandPattern<NamedParameterMap> slashPattern = CatBotCommandPatterns.getSlashPatternGenerator()
                 .generateUsingDefault(CatBotCommandPatterns.NO_DEFAULT);
+        CommandPattern<ParameterView> viewPattern = CatBotCommandPatterns.getSlashViewPatternGenerator()
+                .generateUsingDefault(CatBotCommandPatterns.NO_DEFAULT);
         CommandPattern<String> stringPattern = CatBotCommandPatterns.getStringPatternGenerator()
                 .generateUsingDefault(CatBotCommandPatterns.NO_DEFAULT);
 
         commands.setDefaultCommand(io::indicateInvalidCommand)
-                .addCommand("bye", args -> {
+                .setAmbiguousCommand(io::indicateInvalidCommand)
+                .addExactCommand("bye", args -> {
                     io.cleanup();
+                    taskList.flush();
                     prepareToClose();
                 })
-                .addCommand("list", args -> io.displayTaskList(taskList));
+                .addCommand("list",
+                        args -> viewPattern.ifParsableElseDefault(args,
+                                view -> ifFilterValidElseIndicate(view, filter -> {
+                                    if (filter.isAll()) {
+                                        io.displayTaskList(taskList);
+                                    } else {
+                                        io.displayTaskListWithoutNumber(taskList.filter(filter));
+                                    }
+                                })
+                        )
+                );
+
+        // User grouping changes, so they are kept or undone together
+        commands.addCommand("begin", args -> {
+                    if (!taskList.canGroupWrites()) {
+                        io.indicateTransactionUnsupported();
+                    } else if (taskList.beginTransaction()) {
+                        io.displayTransactionBegun();
+                    } else {
+                        io.indicateInvalidTransaction("begin", true);
+                    }
+                })
+                .addCommand("commit",
+                        args -> taskList.commitTransaction().ifPresentOrElse(io::displayTransactionCommitted,
+                                () -> io.indicateInvalidTransaction("commit", false))
+                )
+                .addExactCommand("rollback",
+                        args -> taskList.rollbackTransaction().ifPresentOrElse(io::displayTransactionRolledBack,
+                                () -> io.indicateInvalidTransaction("rollback", false))
+            );
 
         // User doing simple modification to existing tasks (through IntegerPattern, and Index)
-        // noinspection FunctionalExpressionCanBeFolded for better readability
-        BiConsumer<String, Consumer<Integer>> runIfValidIndexElseIndicateError = (args, lambda) ->
-                integerPattern.ifParsableElseDefault(args,
-                        integer -> taskList.ifValidIndexElse(integer,
-                                validIndex -> lambda.accept(validIndex),
+        // the index is checked and the task modified in one step, so other users of the list cannot interleave
+        BiConsumer<String, BiConsumer<Integer, Consumer<Integer>>> runIfValidIndexElseIndicateError =
+                (args, modification) -> integerPattern.ifParsableElseDefault(args,
+                        integer -> modification.accept(integer,
                                 invalidIndex -> io.indicateInvalidIndex(invalidIndex, taskList.getIndexBounds())
                         ));
 
         //noinspection SpellCheckingInspection for "unmark"
         commands.addCommand("mark",
                         string -> runIfValidIndexElseIndicateError.accept(string,
-                                validIndex -> {
-                                    taskList.markTask(validIndex);
-                                    io.displayTaskModified(taskList, validIndex);
-                                }
+                                (integer, otherwise) -> taskList.markTaskIfValidElse(integer,
+                                        validIndex -> io.displayTaskModified(taskList, validIndex),
+                                        otherwise)
                         )
                 )
                 .addCommand("unmark",
                         string -> runIfValidIndexElseIndicateError.accept(string,
-                                validIndex -> {
-                                    taskList.unmarkTask(validIndex);
-                                    io.displayTaskModified(taskList, validIndex);
-                                }
+                                (integer, otherwise) -> taskList.unmarkTaskIfValidElse(integer,
+                                        validIndex -> io.displayTaskModified(taskList, validIndex),
+                                        otherwise)
                         )
                 )
                 .addCommand("delete",
                         string -> runIfValidIndexElseIndicateError.accept(string,
-                                validIndex -> io.displayTaskDeleted(taskList.removeTask(validIndex))
+                                (integer, otherwise) -> taskList.removeTaskIfValidElse(integer,
+                                        io::displayTaskDeleted,
+                                        otherwise)
                         )
             );
 
-        // User creating new tasks (with SlashPattern)
+        // User creating new tasks (with SlashViewPattern, bound by the schema of each type of task)
         BiConsumer<String, BiFunction<
-                NamedParameterMap, BiConsumer<ErrorIndicatorIo.InvalidArgumentState, NamedParameterMap>,
+                ParameterView, Consumer<List<ArgumentSchema.Error>>,
                 Optional<Task>>>
-                createTaskIfValidElseWarn = (args, bifunction) -> slashPattern.ifParsableElseDefault(args,
-                        namedParameterMap -> bifunction.apply(
-                                namedParameterMap,
-                                io::indicateArgumentInvalid
+                createTaskIfValidElseWarn = (args, bifunction) -> viewPattern.ifParsableElseDefault(args,
+                        view -> bifunction.apply(
+                                view,
+                                io::indicateArgumentsInvalid
                         ).ifPresent(task -> {
                             taskList.addTask(task);
                             io.displayTaskAdded(taskList);
@@ -156,29 +239,131 @@ public class CatBot implements Bot {
                         args -> createTaskIfValidElseWarn.accept(args, Deadline::createIfValidElse)
             );
 
-        // User filtering for tasks
+        // User filtering for tasks (with StringPattern, and options after the text)
+        // a slash that does not start an option is part of the text, so find a/b searches for "a/b"
         commands.addCommand("find",
                 args -> stringPattern.ifParsableElseDefault(args,
-                        str -> io.displayTaskListWithoutNumber(taskList.findInDescriptions(str)))
+                        text -> viewPattern.ifParsableElseDefault(text, view -> {
+                            if (hasOnlyFindOptions(view)) {
+                                ifFilterValidElseIndicate(view, filter -> FIND_SCHEMA.bind(view).ifValidElse(
+                                        arguments -> find(arguments, filter),
+                                        io::indicateArgumentsInvalid));
+                            } else {
+                                io.displayTaskListWithoutNumber(taskList.findInDescriptions(text));
+                            }
+                        })
+                )
         );
 
-        // User editing tasks (with more control)
+        // User looking up tasks by date (with SlashViewPattern, and dates)
+        commands.addCommand("next",
+                        args -> viewPattern.ifParsableElseDefault(args,
+                                view -> NEXT_SCHEMA.bind(view).ifValidElse(
+                                        arguments -> io.displayTaskListWithoutNumber(
+                                                taskList.findMostUrgent(arguments.get(NEXT_COUNT))),
+                                        io::indicateArgumentsInvalid)
+                        )
+                )
+                .addCommand("due",
+                        args -> viewPattern.ifParsableElseDefault(args,
+                                view -> DATE_SCHEMA.bind(view).ifValidElse(
+                                        arguments -> io.displayTaskListWithoutNumber(
+                                                taskList.findDueBefore(arguments.get(DATE))),
+                                        io::indicateArgumentsInvalid)
+                        )
+                )
+                .addCommand("on",
+                        args -> viewPattern.ifParsableElseDefault(args,
+                                view -> DATE_SCHEMA.bind(view).ifValidElse(
+                                        arguments -> io.displayTaskListWithoutNumber(
+                                                taskList.findHappeningOn(arguments.get(DATE))),
+                                        io::indicateArgumentsInvalid)
+                        )
+                )
+                .addCommand("overlapping",
+                        args -> viewPattern.ifParsableElseDefault(args,
+                                view -> RANGE_SCHEMA.bind(view).ifValidElse(
+                                        arguments -> io.displayTaskListWithoutNumber(
+                                                taskList.findOverlapping(arguments.get(FROM_DATE),
+                                                        arguments.get(TO_DATE))),
+                                        io::indicateArgumentsInvalid)
+                        )
+            );
 
-        BiConsumer<String, BiConsumer<Integer, NamedParameterMap>>
-                editTaskIfValidIndexElseIndicate = (string, biconsumer) -> slashPattern.ifParsableElseDefault(string,
-                        map -> runIfValidIndexElseIndicateError.accept(map.remove(""),
-                                integer -> biconsumer.accept(integer, map)
-                            )
-                    );
+        // User editing tasks (with more control)
 
         commands.addCommand("edit",
-                str -> editTaskIfValidIndexElseIndicate.accept(str, (index, map) -> {
-                    taskList.editTask(index, map);
-                    io.displayTaskModified(taskList, index);
-                })
+                str -> slashPattern.ifParsableElseDefault(str,
+                        map -> runIfValidIndexElseIndicateError.accept(map.remove(""),
+                                (integer, otherwise) -> taskList.editTaskIfValidElse(integer, map,
+                                        validIndex -> io.displayTaskModified(taskList, validIndex),
+                                        otherwise)
+                        )
+                )
         );
 
+    }
+
+    /**
+     * Checks that every parameter after the text is an option of find.
+     */
+    private static boolean hasOnlyFindOptions(ParameterView view) {
+        for (int i = 1; i < view.size(); i++) {
+            if (!FIND_OPTIONS.contains(view.getName(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tasks matching the filter and the text bound by {@link #FIND_SCHEMA}, and displays them.
+     */
+    private void find(BoundArguments arguments, TaskFilter filter) {
+        String text = arguments.get(FIND_TEXT);
+        if (arguments.get(FIND_FUZZY) != null) {
+            io.displayTaskListWithoutNumber(taskList.findFuzzyWordsInDescriptions(
+                    text, arguments.get(FIND_FUZZY), filter));
+        } else {
+            io.displayTaskListWithoutNumber(arguments.get(FIND_WORD) != null
+                    ? taskList.findWordsInDescriptions(text, filter)
+                    : taskList.findInDescriptions(text, filter));
+        }
+    }
 
+    /**
+     * Builds a filter from the /done, /undone and /type parameters, and passes it to the consumer.
+     * Otherwise, tells the user that /done and /undone were both given, or that the type is empty,
+     * or not a type of task.
+     */
+    private void ifFilterValidElseIndicate(ParameterView view, Consumer<TaskFilter> ifValid) {
+        TaskFilter filter = TaskFilter.ALL;
+        if (view.containsKey("done") && view.containsKey("undone")) {
+            io.indicateArgumentInvalid(ErrorIndicatorIo.InvalidArgumentState.CONFLICTING,
+                    new NamedParameterMap().addNamedParameter("done", "").addNamedParameter("undone", ""));
+            return;
+        }
+        if (view.containsKey("done")) {
+            filter = filter.withDone(true);
+        }
+        if (view.containsKey("undone")) {
+            filter = filter.withDone(false);
+        }
+        if (view.containsKey("type")) {
+            String typeName = view.get("type");
+            Optional<TaskFilter.Type> type = TaskFilter.Type.parse(typeName);
+            if (typeName.isBlank()) {
+                io.indicateArgumentInvalid(ErrorIndicatorIo.InvalidArgumentState.PARAMETER_EMPTY,
+                        new NamedParameterMap().addNamedParameter("type", ""));
+                return;
+            } else if (type.isEmpty()) {
+                io.indicateArgumentInvalid(ErrorIndicatorIo.InvalidArgumentState.NOT_A_TASK_TYPE,
+                        new NamedParameterMap().addNamedParameter("type", typeName));
+                return;
+            }
+            filter = filter.withType(type.get());
+        }
+        ifValid.accept(filter);
     }
 
     private void prepareToClose() {
@@ -5,7 +5,9 @@ import java.util.function.Consumer;
 import catbot.internal.CommandPattern;
 import catbot.internal.CommandPatternGenerator;
 import catbot.internal.NamedParameterMap;
+import catbot.internal.ParameterView;
 import catbot.internal.Parser;
+import catbot.internal.ValueReader;
 
 /**
  * Class containing {@link CommandPattern CommandPatterns} and {@link CommandPatternGenerator CommandPatternGenerators}
@@ -25,6 +27,7 @@ public abstract class CatBotCommandPatterns {
     };
     private static final IntegerPatternGenerator integerPatternGenerator = new IntegerPatternGenerator();
     private static final SlashArgumentPatternGenerator slashPatternGenerator = new SlashArgumentPatternGenerator();
+    private static final SlashViewPatternGenerator slashViewPatternGenerator = new SlashViewPatternGenerator();
     private static final StringPatternGenerator stringPatternGenerator = new StringPatternGenerator();
 
     //endregion
@@ -43,10 +46,11 @@ public abstract class CatBotCommandPatterns {
         @Override
         public CommandPattern<Integer> generateUsingDefault(Consumer<String> invalidInput) {
             return (args, consumer) -> {
-                try {
-                    consumer.accept(Integer.parseInt(args));
-                } catch (NumberFormatException nfe) {
+                long integer = ValueReader.readInt(args);
+                if (integer == ValueReader.NOT_AN_INT) {
                     invalidInput.accept(args);
+                } else {
+                    consumer.accept((int) integer);
                 }
             };
         }
@@ -79,6 +83,35 @@ public abstract class CatBotCommandPatterns {
         }
     }
 
+    /**
+     * Gets a singleton instance of {@link SlashViewPatternGenerator}.
+     * @return the generator.
+     */
+    public static CommandPatternGenerator<ParameterView> getSlashViewPatternGenerator() {
+        return slashViewPatternGenerator;
+    }
+
+    /**
+     * Parses slash arguments like {@link SlashArgumentPatternGenerator}, but passes on the view of the parser,
+     * for commands that bind their arguments with an {@link catbot.internal.ArgumentSchema} instead of a map.
+     * The view is only valid until the pattern is used again.
+     */
+    private static class SlashViewPatternGenerator implements CommandPatternGenerator<ParameterView> {
+
+        @Override
+        public CommandPattern<ParameterView> generateUsingDefault(Consumer<String> ignored) {
+            return new CommandPattern<>() {
+
+                private final Parser slashParser = Parser.with("/", true);
+
+                @Override
+                public void ifParsableElseDefault(String args, Consumer<ParameterView> consumer) {
+                    consumer.accept(slashParser.scan(args));
+                }
+            };
+        }
+    }
+
     //endregion
 
     //region String Pattern
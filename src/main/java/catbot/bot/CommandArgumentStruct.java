@@ -1,9 +1,15 @@
 package catbot.bot;
 
+import catbot.internal.ParameterView;
+import catbot.internal.Parser;
+
 /**
  * Simple container for a command and argument pair, both stored as Strings.
  */
 public class CommandArgumentStruct {
+    // parsers reuse their output, so each thread that reads input has its own
+    private static final ThreadLocal<Parser> PARSER = ThreadLocal.withInitial(() -> Parser.with(null));
+
     private final String command;
     private final String argument;
 
@@ -35,4 +41,16 @@ public class CommandArgumentStruct {
     public String getCommand() {
         return command;
     }
+
+    /**
+     * Splits a line of user input into the command, and the argument after the first whitespace.
+     *
+     * @param input line of user input.
+     * @return struct with the command and argument of the input.
+     */
+    public static CommandArgumentStruct parse(String input) {
+        ParameterView parameters = PARSER.get().scan(input);
+        assert parameters.size() == 1;
+        return new CommandArgumentStruct(parameters.getName(0), parameters.getValue(0));
+    }
 }
@@ -0,0 +1,255 @@
+package catbot.internal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+/**
+ * Declares the parameters that a command takes, and binds the parameters found by a {@link Parser} to them.
+ * A schema is declared once, as parameters are added, and is then used to bind the arguments of every invocation.
+ * <p>
+ * Binding reads each declared parameter from a {@link ParameterView} into its type, so the arguments of the command
+ * are retrieved already typed from the {@link BoundArguments}, instead of being looked up and parsed by name.
+ * Arguments that are missing, empty or not of their type are collected as a list of {@link Error Errors}.
+ */
+public class ArgumentSchema {
+
+    //region Nested Types
+
+    /**
+     * Type of argument that a parameter takes, and how the argument is read from text.
+     *
+     * @param <T> type that the argument is read into.
+     */
+    public static final class Type<T> {
+
+        /**
+         * Any text that is not empty.
+         */
+        public static final Type<String> TEXT = new Type<>(true, text -> text);
+
+        /**
+         * A date in {@code YYYY-MM-DD} format, whose epoch day fits in an int, so that it can be stored.
+         */
+        public static final Type<LocalDate> DATE = new Type<>(true, ValueReader::readIntEpochDayDate);
+
+        /**
+         * A whole number of at least zero.
+         */
+        public static final Type<Integer> COUNT = new Type<>(true, Type::readCount);
+
+        /**
+         * A parameter that only matters by being given, whose argument is ignored.
+         */
+        public static final Type<Boolean> FLAG = new Type<>(false, text -> true);
+
+        private final boolean isArgumentNeeded;
+        private final Function<String, T> reader;
+
+        private Type(boolean isArgumentNeeded, Function<String, T> reader) {
+            this.isArgumentNeeded = isArgumentNeeded;
+            this.reader = reader;
+        }
+
+        private static Integer readCount(String text) {
+            long count = ValueReader.readInt(text);
+            return count < 0 ? null : (int) count;
+        }
+    }
+
+    /**
+     * Parameter declared in a schema, used to retrieve its argument once bound.
+     *
+     * @param <T> type that the argument is read into.
+     */
+    public static final class Parameter<T> {
+        private final int slot;
+        private final String name;
+        private final Type<T> type;
+        private final boolean isRequired;
+        private final String displayName;
+        private final T defaultValue;
+
+        private Parameter(int slot, String name, Type<T> type, boolean isRequired, String displayName,
+                          T defaultValue) {
+            this.slot = slot;
+            this.name = name;
+            this.type = type;
+            this.isRequired = isRequired;
+            this.displayName = displayName;
+            this.defaultValue = defaultValue;
+        }
+
+        int getSlot() {
+            return slot;
+        }
+
+        /**
+         * Retrieves the type of argument the parameter takes.
+         *
+         * @return type of the argument.
+         */
+        public Type<T> getType() {
+            return type;
+        }
+
+        /**
+         * Retrieves the name the parameter is shown to the user with.
+         *
+         * @return display name of the parameter.
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Reason that an argument could not be bound, from the most basic to the most specific.
+     */
+    public enum Problem {
+        MISSING, EMPTY, WRONG_TYPE
+    }
+
+    /**
+     * Argument that could not be bound to its parameter.
+     */
+    public static final class Error {
+        private final Problem problem;
+        private final Parameter<?> parameter;
+        private final String argument;
+
+        private Error(Problem problem, Parameter<?> parameter, String argument) {
+            this.problem = problem;
+            this.parameter = parameter;
+            this.argument = argument;
+        }
+
+        /**
+         * Retrieves the reason the argument could not be bound.
+         *
+         * @return the problem with the argument.
+         */
+        public Problem getProblem() {
+            return problem;
+        }
+
+        /**
+         * Retrieves the parameter the argument was given for.
+         *
+         * @return the parameter.
+         */
+        public Parameter<?> getParameter() {
+            return parameter;
+        }
+
+        /**
+         * Retrieves the argument as it was given.
+         *
+         * @return the argument, which is empty if it is missing.
+         */
+        public String getArgument() {
+            return argument;
+        }
+    }
+
+    //endregion
+
+    //region Fields
+
+    private final ArrayList<Parameter<?>> parameters = new ArrayList<>();
+
+    //endregion
+
+    //region Declaration
+
+    /**
+     * Declares a parameter that must be given, with an argument of the given type.
+     *
+     * @param name        name of the parameter in the input, which is empty for the text before any parameter.
+     * @param type        type of the argument.
+     * @param displayName name the parameter is shown to the user with.
+     * @param <T>         type that the argument is read into.
+     * @return the declared parameter, to retrieve its argument once bound.
+     */
+    public <T> Parameter<T> required(String name, Type<T> type, String displayName) {
+        return add(new Parameter<>(parameters.size(), name, type, true, displayName, null));
+    }
+
+    /**
+     * Declares a parameter that may be left out. Its argument is null when left out.
+     *
+     * @param name        name of the parameter in the input, which is empty for the text before any parameter.
+     * @param type        type of the argument.
+     * @param displayName name the parameter is shown to the user with.
+     * @param <T>         type that the argument is read into.
+     * @return the declared parameter, to retrieve its argument once bound.
+     */
+    public <T> Parameter<T> optional(String name, Type<T> type, String displayName) {
+        return add(new Parameter<>(parameters.size(), name, type, false, displayName, null));
+    }
+
+    /**
+     * Declares a parameter that may be left out, or given without an argument, to use the default argument.
+     *
+     * @param name         name of the parameter in the input, which is empty for the text before any parameter.
+     * @param type         type of the argument.
+     * @param displayName  name the parameter is shown to the user with.
+     * @param defaultValue argument used when the parameter is left out, or its argument is empty.
+     * @param <T>          type that the argument is read into.
+     * @return the declared parameter, to retrieve its argument once bound.
+     */
+    public <T> Parameter<T> optional(String name, Type<T> type, String displayName, T defaultValue) {
+        return add(new Parameter<>(parameters.size(), name, type, false, displayName, defaultValue));
+    }
+
+    //endregion
+
+    //region Binding
+
+    /**
+     * Reads the argument of every declared parameter from the view.
+     * Parameters found in the view that are not declared are ignored.
+     *
+     * @param view parameters found in the input of a command.
+     * @return the typed arguments, along with any arguments that could not be bound.
+     */
+    public BoundArguments bind(ParameterView view) {
+        Object[] values = new Object[parameters.size()];
+        ArrayList<Error> errors = null;
+        for (Parameter<?> parameter : parameters) {
+            int position = view.lastIndexOf(parameter.name);
+            String argument = position < 0 ? "" : view.getValue(position);
+            Problem problem = null;
+            if (position < 0) {
+                problem = parameter.isRequired ? Problem.MISSING : null;
+                values[parameter.slot] = parameter.defaultValue;
+            } else if (!parameter.type.isArgumentNeeded) {
+                values[parameter.slot] = parameter.type.reader.apply(argument);
+            } else if (argument.isEmpty()) {
+                problem = parameter.defaultValue == null ? Problem.EMPTY : null;
+                values[parameter.slot] = parameter.defaultValue;
+            } else {
+                values[parameter.slot] = parameter.type.reader.apply(argument);
+                problem = values[parameter.slot] == null ? Problem.WRONG_TYPE : null;
+            }
+
+            if (problem != null) {
+                errors = errors == null ? new ArrayList<>() : errors;
+                errors.add(new Error(problem, parameter, argument));
+            }
+        }
+        return new BoundArguments(values, errors);
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private <T> Parameter<T> add(Parameter<T> parameter) {
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    //endregion
+
+}
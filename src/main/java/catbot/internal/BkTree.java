@@ -0,0 +1,155 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Burkhard-Keller tree of distinct strings, for finding every string within an edit distance of a query.
+ * Each child is filed under its Levenshtein distance from its parent, so by the triangle inequality
+ * a search only descends into the children whose distance is within the search distance of the query's.
+ * Searches with small distances visit a small part of the tree.
+ * <p>
+ * Strings cannot be removed, so callers that need removal keep track of stale strings themselves,
+ * and rebuild the tree once enough of it is stale.
+ */
+public class BkTree {
+
+    //region Fields
+
+    private Node root;
+    private int size = 0;
+
+    //endregion
+
+    //region Nested Types
+
+    private static final class Node {
+        private final String string;
+        private HashMap<Integer, Node> children;
+
+        private Node(String string) {
+            this.string = string;
+        }
+    }
+
+    /**
+     * Consumer of the strings found by a search, along with their distance from the query.
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        /**
+         * Accepts a string found by a search.
+         *
+         * @param string   string within the search distance.
+         * @param distance edit distance between the string and the query.
+         */
+        void accept(String string, int distance);
+
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Retrieves the number of strings in the tree.
+     *
+     * @return number of strings.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a string to the tree, if it is not already in it.
+     *
+     * @param string string to add.
+     */
+    public void add(String string) {
+        if (root == null) {
+            root = new Node(string);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(node.string, string);
+            if (distance == 0) {
+                return;
+            }
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(string));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Passes every string in the tree within the given edit distance of the query to the consumer.
+     *
+     * @param query       string to search for.
+     * @param maxDistance largest edit distance of strings to find.
+     * @param consumer    consumer to accept the strings found.
+     */
+    public void forEachWithin(String query, int maxDistance, MatchConsumer consumer) {
+        if (root == null) {
+            return;
+        }
+        ArrayList<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = distance(node.string, query);
+            if (distance <= maxDistance) {
+                consumer.accept(node.string, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            for (int childDistance = Math.max(1, distance - maxDistance);
+                    childDistance <= distance + maxDistance; childDistance++) {
+                Node child = node.children.get(childDistance);
+                if (child != null) {
+                    pending.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings,
+     * the number of characters that must be inserted, removed or replaced to turn one into the other.
+     *
+     * @param first  first string.
+     * @param second second string.
+     * @return the distance.
+     */
+    public static int distance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,82 @@
+package catbot.internal;
+
+/**
+ * Probabilistic set of Strings that answers whether a String might have been added.
+ * A negative answer is always correct; a positive answer is wrong for about 1% of Strings,
+ * as long as no more than the capacity has been added.
+ * Strings cannot be removed; the filter is expected to be rebuilt instead.
+ */
+public class BloomFilter {
+
+    private static final int BITS_PER_ITEM = 10;
+    private static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int capacity;
+    private int count = 0;
+
+    /**
+     * Constructs an empty BloomFilter sized for the given number of Strings.
+     *
+     * @param capacity number of Strings the filter is expected to hold.
+     */
+    public BloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 64);
+        this.bits = new long[(this.capacity * BITS_PER_ITEM + 63) / 64];
+        this.bitCount = bits.length * 64;
+    }
+
+    /**
+     * Adds a String to the filter.
+     *
+     * @param string String to add.
+     */
+    public void add(String string) {
+        int hash = string.hashCode();
+        int step = secondHash(hash);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = Math.floorMod(hash + i * step, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        count++;
+    }
+
+    /**
+     * Checks if the String might have been added to the filter.
+     *
+     * @param string String to check.
+     * @return false if the String was definitely never added, true otherwise.
+     */
+    public boolean mightContain(String string) {
+        int hash = string.hashCode();
+        int step = secondHash(hash);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = Math.floorMod(hash + i * step, bitCount);
+            if ((bits[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if more Strings were added than the filter was sized for.
+     *
+     * @return true if the filter should be rebuilt with a larger capacity.
+     */
+    public boolean isOverCapacity() {
+        return count > capacity;
+    }
+
+    private static int secondHash(int hash) {
+        // murmur3 finalizer, forced odd so that every step visits different bits
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash | 1;
+    }
+
+}
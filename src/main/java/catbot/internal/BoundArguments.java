@@ -0,0 +1,55 @@
+package catbot.internal;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Arguments of a command, read into the types declared by its {@link ArgumentSchema}.
+ * Arguments that could not be read are left null, and described by the errors instead.
+ */
+public class BoundArguments {
+
+    private final Object[] values;
+    private final List<ArgumentSchema.Error> errors;
+
+    BoundArguments(Object[] values, List<ArgumentSchema.Error> errors) {
+        this.values = values;
+        this.errors = errors == null ? List.of() : errors;
+    }
+
+    /**
+     * Retrieves the argument of a parameter.
+     *
+     * @param parameter parameter declared in the schema that bound these arguments.
+     * @param <T>       type of the argument.
+     * @return the argument, or null if it was left out or could not be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ArgumentSchema.Parameter<T> parameter) {
+        return (T) values[parameter.getSlot()];
+    }
+
+    /**
+     * Retrieves every argument that could not be bound, in the order their parameters were declared.
+     *
+     * @return list of errors, which is empty if every argument was bound.
+     */
+    public List<ArgumentSchema.Error> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Runs the first consumer with these arguments if every argument was bound.
+     * Otherwise, passes the errors to the second consumer.
+     *
+     * @param ifValid   consumer to accept these arguments.
+     * @param otherwise consumer to accept the errors.
+     */
+    public void ifValidElse(Consumer<BoundArguments> ifValid, Consumer<List<ArgumentSchema.Error>> otherwise) {
+        if (errors.isEmpty()) {
+            ifValid.accept(this);
+        } else {
+            otherwise.accept(errors);
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package catbot.internal;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 /**
  * Object to store commands as key-value pairs, intended for use specifically with text-triggered functionality.
  * Key is intended to be a String used to invoke its corresponding functionality.
  * Value is a Command, which is a functional interface.
+ * <p>
+ * Commands may also be invoked by any start of their invocation that no other command starts with,
+ * such as {@code del} for {@code delete}. An invocation that matches exactly always runs its own command.
+ * Commands added with {@link #addExactCommand} only run when invoked in full, and are never found by a start.
+ * <p>
+ * The invocations are compiled into a character trie the first time a command is run after commands are added,
+ * so running a command walks the invocation once, and does not hash it or create any objects.
  */
 public class CommandMap {
 
-    private final HashMap<String, Command> commandMap = new HashMap<>();
+    private final TreeMap<String, Command> commandMap = new TreeMap<>();
+    private final HashSet<String> exactInvocations = new HashSet<>();
     private Command defaultCommand;
+    private BiConsumer<String, List<String>> ambiguousCommand;
+    private Trie trie;
     //endregion
 
     /**
@@ -22,6 +37,23 @@ public class CommandMap {
      */
     public CommandMap addCommand(String invocation, Command lambda) {
         commandMap.put(invocation, lambda);
+        exactInvocations.remove(invocation);
+        trie = null;
+        return this;
+    }
+
+    /**
+     * Adds an invocation-command pair to the map, that only runs when the invocation is given in full.
+     * Intended for commands that cannot be undone, so that they never run by accident. Supports pipelining.
+     *
+     * @param invocation the String that calls the command.
+     * @param lambda the Command that triggers through the corresponding String.
+     * @return this, for pipelining
+     */
+    public CommandMap addExactCommand(String invocation, Command lambda) {
+        commandMap.put(invocation, lambda);
+        exactInvocations.add(invocation);
+        trie = null;
         return this;
     }
 
@@ -36,6 +68,19 @@ public class CommandMap {
         return this;
     }
 
+    /**
+     * Initializes or replaces the behaviour when an invocation is the start of several commands.
+     * It is given the invocation, and the invocations of the commands it could mean, in alphabetical order.
+     * Without it, the default command runs instead.
+     *
+     * @param ambiguousCommand BiConsumer to run.
+     * @return this, for pipelining.
+     */
+    public CommandMap setAmbiguousCommand(BiConsumer<String, List<String>> ambiguousCommand) {
+        this.ambiguousCommand = ambiguousCommand;
+        return this;
+    }
+
     /**
      * Runs the command corresponding to the invocation, passing it a String argument.
      *
@@ -43,10 +88,129 @@ public class CommandMap {
      * @param argument String to pass as an argument to the Command.
      */
     public void run(String invocation, String argument) {
-        if (commandMap.containsKey(invocation)) {
-            commandMap.get(invocation).run(argument);
+        if (trie == null) {
+            trie = new Trie(commandMap, exactInvocations);
+        }
+        int node = trie.find(invocation);
+        if (node >= 0 && trie.exactCommands[node] != null) {
+            trie.exactCommands[node].run(argument);
+        } else if (node > 0 && trie.onlyCommands[node] != null) {
+            trie.onlyCommands[node].run(argument);
+        } else if (node > 0 && ambiguousCommand != null && trie.candidates.get(node).size() > 1) {
+            ambiguousCommand.accept(invocation, trie.candidates.get(node));
         } else if (defaultCommand != null) {
             defaultCommand.run(invocation);
         }
     }
+
+    //region Internal Helpers
+
+    /**
+     * Character trie over the invocations, kept as a table of transitions.
+     * Each node stores the command whose invocation ends there, and, for the start of an invocation,
+     * the only command below it or the invocations of every command below it.
+     * Commands that must be invoked in full are left out of both, so a start never leads to them.
+     * <p>
+     * Only the characters that appear in some invocation get a column in the table, so it stays small.
+     * Column 0 stands for every other character, and leads nowhere.
+     * Characters are mapped to their column by indexing an array, and transitions hold the start of the next row,
+     * so following a character takes two reads.
+     */
+    private static class Trie {
+        private static final int NO_NODE = -1;
+
+        private final int[] columns;
+        private final int width;
+        private final int[] transitions;
+        private final Command[] exactCommands;
+        private final Command[] onlyCommands;
+        private final ArrayList<List<String>> candidates = new ArrayList<>();
+        private int nodeCount = 0;
+
+        private final HashSet<String> exactInvocations;
+
+        private Trie(TreeMap<String, Command> commands, HashSet<String> exactInvocations) {
+            this.exactInvocations = exactInvocations;
+            String[] invocations = commands.keySet().toArray(new String[0]);
+            Command[] lambdas = new Command[invocations.length];
+            int capacity = 1;
+            int maxChar = 0;
+            for (int i = 0; i < invocations.length; i++) {
+                lambdas[i] = commands.get(invocations[i]);
+                capacity += invocations[i].length();
+                for (int j = 0; j < invocations[i].length(); j++) {
+                    maxChar = Math.max(maxChar, invocations[i].charAt(j));
+                }
+            }
+            columns = new int[maxChar + 1];
+            int columnCount = 1;
+            for (String invocation : invocations) {
+                for (int j = 0; j < invocation.length(); j++) {
+                    if (columns[invocation.charAt(j)] == 0) {
+                        columns[invocation.charAt(j)] = columnCount++;
+                    }
+                }
+            }
+            width = columnCount;
+            transitions = new int[capacity * width];
+            Arrays.fill(transitions, NO_NODE);
+            exactCommands = new Command[capacity];
+            onlyCommands = new Command[capacity];
+            addNode(invocations, lambdas, 0, invocations.length, 0);
+        }
+
+        /**
+         * Adds the node for the invocations in the range, which are sorted and share their first depth characters.
+         *
+         * @return the added node.
+         */
+        private int addNode(String[] invocations, Command[] lambdas, int from, int to, int depth) {
+            int node = nodeCount++;
+            ArrayList<String> nodeCandidates = new ArrayList<>();
+            Command onlyCommand = null;
+            for (int i = from; i < to; i++) {
+                if (!exactInvocations.contains(invocations[i])) {
+                    nodeCandidates.add(invocations[i]);
+                    onlyCommand = lambdas[i];
+                }
+            }
+            candidates.add(List.copyOf(nodeCandidates));
+            if (nodeCandidates.size() == 1) {
+                onlyCommands[node] = onlyCommand;
+            }
+            if (from < to && invocations[from].length() == depth) {
+                exactCommands[node] = lambdas[from];
+                from++;
+            }
+            for (int start = from; start < to; ) {
+                char c = invocations[start].charAt(depth);
+                int end = start;
+                while (end < to && invocations[end].charAt(depth) == c) {
+                    end++;
+                }
+                transitions[node * width + column(c)] = addNode(invocations, lambdas, start, end, depth + 1) * width;
+                start = end;
+            }
+            return node;
+        }
+
+        /**
+         * Follows the characters of the invocation from the root.
+         *
+         * @return the node reached, or -1 if no invocation starts with the given invocation.
+         */
+        private int find(String invocation) {
+            int row = 0;
+            for (int i = 0; i < invocation.length() && row >= 0; i++) {
+                row = transitions[row + column(invocation.charAt(i))];
+            }
+            return row < 0 ? NO_NODE : row / width;
+        }
+
+        private int column(char c) {
+            return c < columns.length ? columns[c] : 0;
+        }
+    }
+
+    //endregion
 }
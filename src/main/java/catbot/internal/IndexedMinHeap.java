@@ -0,0 +1,181 @@
+package catbot.internal;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Binary min-heap of distinct non-negative int ids, each with a long priority.
+ * The heap remembers where each id is, so the priority of any id can be changed,
+ * or the id removed, in O(log n) without searching for it.
+ * Ids with equal priorities are ordered by id.
+ */
+public class IndexedMinHeap {
+
+    //region Constants
+
+    private static final int ABSENT = -1;
+
+    //endregion
+
+    //region Fields
+
+    private int[] heap = new int[16];
+    private long[] priorities = new long[16];
+    private int[] positions = new int[0];
+    private int size = 0;
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Retrieves the number of ids in the heap.
+     *
+     * @return number of ids.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the id is in the heap.
+     *
+     * @param id id to look for.
+     * @return true if the id is in the heap, otherwise false.
+     */
+    public boolean contains(int id) {
+        return id < positions.length && positions[id] != ABSENT;
+    }
+
+    /**
+     * Adds the id with the given priority, or changes its priority if it is already in the heap.
+     *
+     * @param id       id to add or change.
+     * @param priority priority of the id, where smaller priorities come first.
+     */
+    public void set(int id, long priority) {
+        if (contains(id)) {
+            int position = positions[id];
+            long oldPriority = priorities[position];
+            priorities[position] = priority;
+            if (priority < oldPriority) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+            return;
+        }
+        if (id >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(positions, oldLength, positions.length, ABSENT);
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        heap[size] = id;
+        priorities[size] = priority;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Removes the id from the heap, if it is in the heap.
+     *
+     * @param id id to remove.
+     * @return true if the id was in the heap, otherwise false.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        int position = positions[id];
+        positions[id] = ABSENT;
+        if (position == --size) {
+            return true;
+        }
+        // the last entry fills the gap, and moves whichever way its priority requires
+        move(size, position);
+        siftUp(position);
+        siftDown(position);
+        return true;
+    }
+
+    /**
+     * Passes the ids with the smallest priorities to the consumer, smallest first, without changing the heap.
+     * Takes O(k log k) time for k ids, however large the heap.
+     *
+     * @param count    largest number of ids to pass.
+     * @param consumer consumer to accept the ids.
+     */
+    public void forEachSmallest(int count, IntConsumer consumer) {
+        // every entry is smaller than its children, so the next smallest is always a child of one already passed
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+        if (size > 0) {
+            frontier.add(0);
+        }
+        for (int passed = 0; passed < count && !frontier.isEmpty(); passed++) {
+            int position = frontier.poll();
+            consumer.accept(heap[position]);
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private int compare(int firstPosition, int secondPosition) {
+        int byPriority = Long.compare(priorities[firstPosition], priorities[secondPosition]);
+        return byPriority != 0 ? byPriority : Integer.compare(heap[firstPosition], heap[secondPosition]);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (compare(position, parent) >= 0) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                if (compare(child, smallest) < 0) {
+                    smallest = child;
+                }
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int first, int second) {
+        int firstId = heap[first];
+        long firstPriority = priorities[first];
+        move(second, first);
+        heap[second] = firstId;
+        priorities[second] = firstPriority;
+        positions[firstId] = second;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        priorities[to] = priorities[from];
+        positions[heap[to]] = to;
+    }
+
+    //endregion
+
+}
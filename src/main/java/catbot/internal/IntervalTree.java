@@ -0,0 +1,218 @@
+package catbot.internal;
+
+import java.util.Random;
+
+/**
+ * Set of closed intervals of longs, each labelled with a distinct int value.
+ * Intervals overlapping a range are found in O(log n + k) expected time, for k intervals found.
+ * <p>
+ * Implemented as a treap ordered by start, where every node also holds the largest end in its subtree,
+ * so subtrees that end before the range can be skipped entirely.
+ */
+public class IntervalTree {
+
+    //region Fields
+
+    private final Random priorities = new Random();
+    private Node root;
+    private int size = 0;
+
+    //endregion
+
+    //region Nested Types
+
+    /**
+     * Consumer of intervals found in the tree.
+     */
+    @FunctionalInterface
+    public interface IntervalConsumer {
+
+        /**
+         * Accepts an interval and its value.
+         *
+         * @param start start of the interval.
+         * @param end   end of the interval.
+         * @param value value the interval is labelled with.
+         */
+        void accept(long start, long end, int value);
+    }
+
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int priority;
+        private final int value;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, int value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Retrieves the number of intervals in the tree.
+     *
+     * @return number of intervals.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an interval to the tree.
+     *
+     * @param start start of the interval.
+     * @param end   end of the interval, not before the start.
+     * @param value value to label the interval with, not used by any other interval.
+     */
+    public void add(long start, long end, int value) {
+        assert start <= end;
+        root = insert(root, new Node(start, end, value, priorities.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes the interval with the given start and value, if present.
+     *
+     * @param start start of the interval.
+     * @param value value of the interval.
+     * @return true if the interval was removed, false if it was not present.
+     */
+    public boolean remove(long start, int value) {
+        int sizeBefore = size;
+        root = delete(root, start, value);
+        return size < sizeBefore;
+    }
+
+    /**
+     * Passes every interval that overlaps the given range to the consumer, in order of start.
+     *
+     * @param from     first long in the range.
+     * @param to       last long in the range.
+     * @param consumer consumer to accept the overlapping intervals.
+     */
+    public void forEachOverlapping(long from, long to, IntervalConsumer consumer) {
+        forEachOverlapping(root, from, to, consumer);
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private static int compare(long start, int value, Node node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : Integer.compare(value, node.value);
+    }
+
+    private static void update(Node node) {
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.value, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, long start, int value) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, value, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, value);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, value);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps, where every interval in the first comes before every interval in the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static void forEachOverlapping(Node node, long from, long to, IntervalConsumer consumer) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        forEachOverlapping(node.left, from, to, consumer);
+        if (node.start > to) {
+            // this node and everything to its right start after the range
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.start, node.end, node.value);
+        }
+        forEachOverlapping(node.right, from, to, consumer);
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,34 @@
+package catbot.internal;
+
+import java.util.List;
+
+/**
+ * ObjectStorage that persists changes to an object as a journal of records, instead of rewriting the whole object.
+ * The journal is replayed on top of the last snapshot when reading, and is compacted into a new snapshot over time.
+ *
+ * @param <T> type of object to read and write.
+ * @param <R> type of record that describes a single change to the object.
+ */
+public interface JournalStorage<T, R> extends ObjectStorage<T> {
+
+    /**
+     * Appends a record describing a single change to the stored object.
+     * Records are expected to be appended in the order the changes were made.
+     *
+     * @param record record to append.
+     */
+    void append(R record);
+
+    /**
+     * Appends several records at once, in order, as a single write.
+     *
+     * @param records records to append.
+     */
+    void appendAll(List<R> records);
+
+    /**
+     * Blocks until every record appended so far has been written to disk.
+     */
+    void flush();
+
+}
@@ -0,0 +1,167 @@
+package catbot.internal;
+
+import java.util.Arrays;
+
+/**
+ * Read-only view of the parameter-argument pairs found by a {@link Parser} in a String.
+ * Only the offsets of each name and argument are kept, so no Strings are created until they are asked for.
+ * <p>
+ * A Parser reuses the same view for every String it parses, so the view only describes the latest String,
+ * and should be read before the Parser is used again.
+ * When a name appears more than once, its last argument is the one found by name, as in a NamedParameterMap.
+ */
+public class ParameterView {
+
+    //region Constants
+
+    private static final int NAME_START = 0;
+    private static final int NAME_END = 1;
+    private static final int VALUE_START = 2;
+    private static final int VALUE_END = 3;
+    private static final int OFFSETS_PER_PARAMETER = 4;
+
+    //endregion
+
+    //region Fields
+
+    private String source = "";
+    private int[] offsets = new int[OFFSETS_PER_PARAMETER * 4];
+    private int size = 0;
+
+    //endregion
+
+    //region Constructor
+
+    ParameterView() {
+    }
+
+    //endregion
+
+    //region Reading
+
+    /**
+     * Retrieves the number of parameters found, counting repeated names once per appearance.
+     *
+     * @return number of parameters.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the name of the parameter at the given position, in order of appearance.
+     *
+     * @param position position of the parameter.
+     * @return name of the parameter.
+     */
+    public String getName(int position) {
+        return source.substring(offset(position, NAME_START), offset(position, NAME_END));
+    }
+
+    /**
+     * Retrieves the argument of the parameter at the given position, in order of appearance.
+     *
+     * @param position position of the parameter.
+     * @return argument of the parameter, which is empty if none was given.
+     */
+    public String getValue(int position) {
+        return source.substring(offset(position, VALUE_START), offset(position, VALUE_END));
+    }
+
+    /**
+     * Checks if the parameter at the given position has the given name, without creating any String.
+     *
+     * @param position position of the parameter.
+     * @param name     name to compare with.
+     * @return true if the parameter has the name, false otherwise.
+     */
+    public boolean nameEquals(int position, String name) {
+        int start = offset(position, NAME_START);
+        int length = offset(position, NAME_END) - start;
+        return length == name.length() && source.regionMatches(start, name, 0, length);
+    }
+
+    /**
+     * Finds the position of the last parameter with the given name.
+     *
+     * @param name name of the parameter.
+     * @return position of the parameter, or -1 if no parameter has the name.
+     */
+    public int lastIndexOf(String name) {
+        for (int position = size - 1; position >= 0; position--) {
+            if (nameEquals(position, name)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a parameter with the given name was found.
+     *
+     * @param name name of the parameter.
+     * @return true if the parameter was found, false otherwise.
+     */
+    public boolean containsKey(String name) {
+        return lastIndexOf(name) >= 0;
+    }
+
+    /**
+     * Retrieves the argument of the last parameter with the given name.
+     *
+     * @param name name of the parameter.
+     * @return argument of the parameter, or null if no parameter has the name.
+     */
+    public String get(String name) {
+        int position = lastIndexOf(name);
+        return position < 0 ? null : getValue(position);
+    }
+
+    /**
+     * Copies the parameters into a new NamedParameterMap, which stays the same when the view is reused.
+     *
+     * @return map with the names of the parameters as keys, and their arguments as values.
+     */
+    public NamedParameterMap toNamedParameterMap() {
+        NamedParameterMap map = new NamedParameterMap();
+        for (int position = 0; position < size; position++) {
+            map.addNamedParameter(getName(position), getValue(position));
+        }
+        return map;
+    }
+
+    //endregion
+
+    //region Filling
+
+    void reset(String source) {
+        this.source = source;
+        this.size = 0;
+    }
+
+    void add(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        int base = size * OFFSETS_PER_PARAMETER;
+        if (base == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[base + NAME_START] = nameStart;
+        offsets[base + NAME_END] = nameEnd;
+        offsets[base + VALUE_START] = valueStart;
+        offsets[base + VALUE_END] = valueEnd;
+        size++;
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private int offset(int position, int field) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("No parameter at position " + position);
+        }
+        return offsets[position * OFFSETS_PER_PARAMETER + field];
+    }
+
+    //endregion
+
+}
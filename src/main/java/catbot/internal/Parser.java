@@ -1,14 +1,17 @@
 package catbot.internal;
 
-import java.util.Arrays;
-
 /**
  * Object that parses a String into a NamedParameterMap.
+ * <p>
+ * The String is scanned once, from left to right, and only the offsets of each name and argument are recorded
+ * in a {@link ParameterView} that the parser reuses, so {@link #scan(String)} creates no objects once the view
+ * is large enough. A Parser is therefore not safe to share between threads.
  */
 public class Parser {
 
     private final String delimiter;
     private final boolean willKeepEmptyArgument;
+    private final ParameterView view = new ParameterView();
 
     //region Constructor
 
@@ -29,6 +32,8 @@ public class Parser {
 
     /**
      * Returns a parser that uses the provided String as a delimiter.
+     * The delimiter is matched as it is, rather than as a regular expression.
+     * Without a delimiter, the whole String is parsed as a single parameter.
      *
      * @param delimiter             String to use as a trigger to start new commands.
      * @param willKeepEmptyArgument true if the first parameter should have an empty name.
@@ -36,27 +41,13 @@ public class Parser {
      */
     public static Parser with(String delimiter, boolean willKeepEmptyArgument) {
         if (delimiter == null || delimiter.isEmpty()) {
-            return new SingleParser();
+            return new Parser(null, false);
         } else {
             return new Parser(delimiter, willKeepEmptyArgument);
         }
     }
     //endregion
 
-    private static class SingleParser extends Parser {
-
-        private SingleParser() {
-            super(null, false);
-        }
-
-        @Override
-        public NamedParameterMap parse(String s) {
-            NamedParameterMap map = new NamedParameterMap();
-            parseCommandArgumentString(s, map);
-            return map;
-        }
-    }
-
     /**
      * Applies the parser to the given String, and return a representation of parameter-argument pairs.
      *
@@ -64,38 +55,101 @@ public class Parser {
      * @return NamedParameterMap with commands as keys, and arguments as values.
      */
     public NamedParameterMap parse(String s) {
-        NamedParameterMap map = new NamedParameterMap();
-        String[] commandArgumentStrings = s.split(delimiter);
+        return scan(s).toNamedParameterMap();
+    }
 
+    /**
+     * Applies the parser to the given String, and returns a view of the parameter-argument pairs found.
+     * The same view is returned, and overwritten, by every call to this parser.
+     * <p>
+     * Each delimited segment is split into a name and an argument at its first whitespace, and both are trimmed.
+     * Delimiters at the end of the String are ignored, as {@link String#split(String)} does.
+     *
+     * @param s String to parse.
+     * @return view with the parameters found, in order of appearance.
+     */
+    public ParameterView scan(String s) {
+        view.reset(s);
+        int end = s.length();
+        if (delimiter == null) {
+            scanSegment(s, 0, end, false);
+            return view;
+        }
+
+        int delimiterLength = delimiter.length();
+        while (end >= delimiterLength && s.startsWith(delimiter, end - delimiterLength)) {
+            end -= delimiterLength;
+        }
         //first command potentially gets the empty argument treatment ("" -> value)
-        parseCommandArgumentString(commandArgumentStrings[0], map, this.willKeepEmptyArgument);
-        Arrays.stream(commandArgumentStrings).skip(1).forEach(segment -> parseCommandArgumentString(segment, map));
-        return map;
+        int start = 0;
+        boolean isFirst = true;
+        while (true) {
+            int segmentEnd = s.indexOf(delimiter, start);
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            scanSegment(s, start, segmentEnd, isFirst && willKeepEmptyArgument);
+            if (segmentEnd == end) {
+                return view;
+            }
+            start = segmentEnd + delimiterLength;
+            isFirst = false;
+        }
     }
 
     //region Internal Helpers
 
     /**
-     * Splits string into one pair of command + argument based on the first whitespace.
-     *
-     * @param s string containing both command and argument, in that order
-     * @param map to store the mapping between command and argument
+     * Splits a segment into one pair of command + argument based on the first whitespace,
+     * or keeps the whole segment as the argument of an empty command.
      */
-    private static void parseCommandArgumentString(String s, NamedParameterMap map) {
-        String[] splitCommandArgument = s.split("\\s", 2);
-        if (splitCommandArgument.length == 2) {
-            map.addNamedParameter(splitCommandArgument[0].trim(), splitCommandArgument[1].trim());
+    private void scanSegment(String s, int start, int end, boolean isArgumentOnly) {
+        if (isArgumentOnly) {
+            addTrimmed(s, start, start, start, end);
+            return;
+        }
+        int split = start;
+        while (split < end && !isWhitespace(s.charAt(split))) {
+            split++;
+        }
+        if (split < end) {
+            addTrimmed(s, start, split, split + 1, end);
         } else {
-            map.addNamedParameter(splitCommandArgument[0].trim(), "");
+            addTrimmed(s, start, end, end, end);
         }
     }
 
-    private static void parseCommandArgumentString(String s, NamedParameterMap map, boolean willKeepEmptyArgument) {
-        if (willKeepEmptyArgument) {
-            map.addNamedParameter("", s.trim());
-        } else {
-            parseCommandArgumentString(s, map);
+    private void addTrimmed(String s, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        nameStart = trimStart(s, nameStart, nameEnd);
+        valueStart = trimStart(s, valueStart, valueEnd);
+        view.add(nameStart, trimEnd(s, nameStart, nameEnd), valueStart, trimEnd(s, valueStart, valueEnd));
+    }
+
+    /**
+     * Checks for the characters matched by the regular expression {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Skips the characters removed by {@link String#trim()} at the start of the range.
+     */
+    private static int trimStart(String s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Skips the characters removed by {@link String#trim()} at the end of the range.
+     */
+    private static int trimEnd(String s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
         }
+        return end;
     }
 
     //endregion
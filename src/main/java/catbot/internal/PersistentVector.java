@@ -0,0 +1,215 @@
+package catbot.internal;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Immutable vector of slots, where every change returns a new vector and leaves the original untouched.
+ * The new vector shares everything but the changed path with the original, so changes take O(log n)
+ * time and space, and keeping an old version costs nothing until it is changed.
+ * <p>
+ * Slots are appended at the end, and may be emptied by setting them to null.
+ * Nodes whose slots are all empty are dropped, so the trie only holds the nodes on the way to filled slots,
+ * however many slots have been emptied.
+ * Every node counts the filled slots below it, so the filled slots can also be found by rank in O(log n).
+ * Implemented as a trie with 32 children per node.
+ *
+ * @param <T> type of element in the slots.
+ */
+public final class PersistentVector<T> {
+
+    //region Constants
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(null, 0, 0);
+
+    //endregion
+
+    //region Fields
+
+    private final Node root;
+    private final int shift;
+    private final int slotCount;
+
+    //endregion
+
+    //region Nested Types
+
+    private static final class Node {
+        private final Object[] children;
+        private final int count;
+
+        private Node(Object[] children, int count) {
+            this.children = children;
+            this.count = count;
+        }
+    }
+
+    //endregion
+
+    //region Constructor
+
+    private PersistentVector(Node root, int shift, int slotCount) {
+        this.root = root;
+        this.shift = shift;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Returns the vector without slots.
+     *
+     * @param <T> type of element in the slots.
+     * @return the empty vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Retrieves the number of filled slots.
+     *
+     * @return number of non-null elements.
+     */
+    public int size() {
+        return root == null ? 0 : root.count;
+    }
+
+    /**
+     * Retrieves the number of slots, filled or not.
+     * This is also the slot that the next appended element goes into.
+     *
+     * @return number of slots.
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Retrieves the element in the given slot.
+     *
+     * @param slot slot of the element.
+     * @return the element, or null if the slot is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int slot) {
+        Objects.checkIndex(slot, slotCount);
+        Node node = root;
+        for (int level = shift; level > 0 && node != null; level -= BITS) {
+            node = (Node) node.children[(slot >>> level) & MASK];
+        }
+        return node == null ? null : (T) node.children[slot & MASK];
+    }
+
+    /**
+     * Returns a vector with one more slot at the end, holding the given element.
+     *
+     * @param element element to append, or null for an empty slot.
+     * @return the new vector.
+     */
+    public PersistentVector<T> append(T element) {
+        Node newRoot = root;
+        int newShift = shift;
+        if (slotCount == 1 << (shift + BITS)) {
+            // the trie is full, so it becomes the first child of a new root
+            Object[] children = new Object[WIDTH];
+            children[0] = root;
+            newRoot = new Node(children, size());
+            newShift += BITS;
+        }
+        return new PersistentVector<>(set(newRoot, newShift, slotCount, element), newShift, slotCount + 1);
+    }
+
+    /**
+     * Returns a vector with the given slot replaced.
+     *
+     * @param slot    slot to replace.
+     * @param element element to put in the slot, or null to empty it.
+     * @return the new vector.
+     */
+    public PersistentVector<T> set(int slot, T element) {
+        Objects.checkIndex(slot, slotCount);
+        return new PersistentVector<>(set(root, shift, slot, element), shift, slotCount);
+    }
+
+    /**
+     * Retrieves the slot of the filled slot with the given rank, i.e. the (rank + 1)th filled slot.
+     *
+     * @param rank rank of the filled slot, from 0 to size - 1.
+     * @return the slot.
+     */
+    public int select(int rank) {
+        Objects.checkIndex(rank, size());
+        Node node = root;
+        int slot = 0;
+        for (int level = shift; level > 0; level -= BITS) {
+            int i = 0;
+            for (Node child = (Node) node.children[i]; child == null || child.count <= rank;
+                    child = (Node) node.children[++i]) {
+                rank -= child == null ? 0 : child.count;
+            }
+            slot |= i << level;
+            node = (Node) node.children[i];
+        }
+        int i = 0;
+        for (; node.children[i] == null || rank > 0; i++) {
+            rank -= node.children[i] == null ? 0 : 1;
+        }
+        return slot | i;
+    }
+
+    /**
+     * Passes every element in the filled slots to the consumer, in order of slot.
+     *
+     * @param consumer consumer to accept the elements.
+     */
+    public void forEach(Consumer<T> consumer) {
+        forEach(root, shift, consumer);
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    /**
+     * Returns the node with the given slot replaced, or null if none of its slots are filled anymore.
+     */
+    private static Node set(Node node, int level, int slot, Object element) {
+        Object[] children = node == null ? new Object[WIDTH] : node.children.clone();
+        int count = node == null ? 0 : node.count;
+        int i = (slot >>> level) & MASK;
+        if (level == 0) {
+            count += (element == null ? 0 : 1) - (children[i] == null ? 0 : 1);
+            children[i] = element;
+        } else {
+            Node child = (Node) children[i];
+            Node newChild = set(child, level - BITS, slot, element);
+            count += (newChild == null ? 0 : newChild.count) - (child == null ? 0 : child.count);
+            children[i] = newChild;
+        }
+        return count == 0 ? null : new Node(children, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void forEach(Node node, int level, Consumer<T> consumer) {
+        if (node == null || node.count == 0) {
+            return;
+        }
+        for (Object child : node.children) {
+            if (level > 0) {
+                forEach((Node) child, level - BITS, consumer);
+            } else if (child != null) {
+                consumer.accept((T) child);
+            }
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,147 @@
+package catbot.internal;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Set of non-negative int ids, that can find the id at a given rank, and the rank of a given id, in O(log n).
+ * The rank of an id is the number of smaller ids in the set.
+ * <p>
+ * Implemented as a Fenwick tree counting the ids present, over every id up to the largest id ever added,
+ * so it is best suited to ids that are handed out in increasing order.
+ */
+public class RankedIdSet {
+
+    //region Fields
+
+    private final BitSet present = new BitSet();
+    private int[] counts = new int[16 + 1];
+    private int capacity = 16;
+    private int size = 0;
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Retrieves the number of ids in the set.
+     *
+     * @return number of ids.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the id is in the set.
+     *
+     * @param id id to check.
+     * @return true if present, false otherwise.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && present.get(id);
+    }
+
+    /**
+     * Adds an id to the set, if it is not already present.
+     *
+     * @param id non-negative id to add.
+     */
+    public void add(int id) {
+        if (contains(id)) {
+            return;
+        }
+        if (id >= capacity) {
+            grow(id + 1);
+        }
+        present.set(id);
+        size++;
+        for (int i = id + 1; i <= capacity; i += i & -i) {
+            counts[i]++;
+        }
+    }
+
+    /**
+     * Removes an id from the set, if present.
+     *
+     * @param id id to remove.
+     * @return true if the id was removed, false if it was not present.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        present.clear(id);
+        size--;
+        for (int i = id + 1; i <= capacity; i += i & -i) {
+            counts[i]--;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of ids in the set that are smaller than the given id.
+     *
+     * @param id id to rank, which does not have to be in the set.
+     * @return number of smaller ids.
+     */
+    public int rank(int id) {
+        int rank = 0;
+        for (int i = Math.min(id, capacity); i > 0; i -= i & -i) {
+            rank += counts[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Retrieves the id with the given rank, i.e. the (rank + 1)th smallest id.
+     *
+     * @param rank rank of the id, from 0 to size - 1.
+     * @return the id.
+     */
+    public int select(int rank) {
+        Objects.checkIndex(rank, size);
+        int position = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            if (position + step <= capacity && counts[position + step] < remaining) {
+                position += step;
+                remaining -= counts[position];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Retrieves the smallest id in the set that is not smaller than the given id.
+     * Intended for visiting every id in order, starting from 0.
+     *
+     * @param from id to start looking from.
+     * @return the next id, or -1 if there is none.
+     */
+    public int next(int from) {
+        return present.nextSetBit(from);
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    /**
+     * Rebuilds the counts over a larger range of ids, in linear time.
+     */
+    private void grow(int minimumCapacity) {
+        capacity = Integer.highestOneBit(minimumCapacity - 1) << 1;
+        counts = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            counts[i] += present.get(i - 1) ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                counts[parent] += counts[i];
+            }
+        }
+    }
+
+    //endregion
+
+}
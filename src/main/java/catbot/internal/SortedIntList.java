@@ -0,0 +1,136 @@
+package catbot.internal;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of distinct ints, kept in ascending order.
+ * Intended for posting lists, where values are appended in order most of the time.
+ */
+public class SortedIntList {
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs an empty SortedIntList.
+     */
+    public SortedIntList() {
+        this.values = new int[4];
+        this.size = 0;
+    }
+
+    private SortedIntList(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Retrieves the number of values in the list.
+     *
+     * @return number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list has no values.
+     *
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the value at the given position, counting from the smallest value.
+     *
+     * @param position position of the value.
+     * @return the value.
+     */
+    public int get(int position) {
+        assert position < size;
+        return values[position];
+    }
+
+    /**
+     * Checks if the list contains the given value.
+     *
+     * @param value value to look for.
+     * @return true if present, false otherwise.
+     */
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * Adds a value to the list, if it is not already present.
+     * Adding a value larger than every other value takes constant time.
+     *
+     * @param value value to add.
+     */
+    public void add(int value) {
+        int position = size == 0 || values[size - 1] < value
+                ? size
+                : Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0 && position < size) {
+            return;
+        }
+        position = position < 0 ? -position - 1 : position;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+        size++;
+    }
+
+    /**
+     * Removes a value from the list, if present.
+     *
+     * @param value value to remove.
+     * @return true if the value was removed, false if it was not present.
+     */
+    public boolean remove(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns a new list of the values present in both lists.
+     *
+     * @param other list to intersect with.
+     * @return list of common values.
+     */
+    public SortedIntList intersect(SortedIntList other) {
+        int[] common = new int[Math.min(size, other.size)];
+        int count = 0;
+        for (int i = 0, j = 0; i < size && j < other.size; ) {
+            if (values[i] < other.values[j]) {
+                i++;
+            } else if (values[i] > other.values[j]) {
+                j++;
+            } else {
+                common[count++] = values[i];
+                i++;
+                j++;
+            }
+        }
+        return new SortedIntList(common, count);
+    }
+
+    /**
+     * Returns a copy of the list, that can be modified independently of the original.
+     *
+     * @return copy of the list.
+     */
+    public SortedIntList copy() {
+        return new SortedIntList(Arrays.copyOf(values, Math.max(4, size)), size);
+    }
+
+}
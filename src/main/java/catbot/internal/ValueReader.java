@@ -0,0 +1,150 @@
+package catbot.internal;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Reads integers and dates from text without throwing when the text is invalid.
+ * <p>
+ * {@link Integer#parseInt(String)} and {@link LocalDate#parse(CharSequence)} report invalid text by throwing,
+ * and filling in the stack trace of the exception costs far more than reading the text.
+ * The readers here accept exactly the same text, but report invalid text with an error value instead,
+ * so rejecting a bad argument costs about as much as accepting a good one.
+ */
+public final class ValueReader {
+
+    //region Constants
+
+    /**
+     * Returned by {@link #readInt(String)} when the text is not an integer.
+     * It is outside the range of an int, so it cannot be mistaken for one.
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private static final int RADIX = 10;
+    private static final int PLAIN_YEAR_DIGITS = 4;
+    private static final int MAX_YEAR_DIGITS = 10;
+
+    //endregion
+
+    //region Constructor
+
+    private ValueReader() {
+    }
+
+    //endregion
+
+    //region Readers
+
+    /**
+     * Reads the text as a decimal int, accepting the same text as {@link Integer#parseInt(String)}.
+     *
+     * @param text text to read, which may be null.
+     * @return the int, widened to a long, or {@link #NOT_AN_INT} if the text is not an int.
+     */
+    public static long readInt(String text) {
+        if (text == null || text.isEmpty()) {
+            return NOT_AN_INT;
+        }
+        char first = text.charAt(0);
+        boolean isNegative = first == '-';
+        int start = isNegative || first == '+' ? 1 : 0;
+        if (start == text.length()) {
+            return NOT_AN_INT;
+        }
+
+        // accumulates negatively, as Integer.MIN_VALUE has no positive counterpart
+        long limit = isNegative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        long result = 0;
+        for (int i = start; i < text.length(); i++) {
+            int digit = Character.digit(text.charAt(i), RADIX);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+            result = result * RADIX - digit;
+            if (result < limit) {
+                return NOT_AN_INT;
+            }
+        }
+        return isNegative ? result : -result;
+    }
+
+    /**
+     * Reads the text as a date in {@code YYYY-MM-DD} format, accepting the same text as
+     * {@link LocalDate#parse(CharSequence)}, including signed years beyond four digits.
+     *
+     * @param text text to read, which may be null.
+     * @return the date, or null if the text is not a date.
+     */
+    public static LocalDate readDate(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        char first = text.charAt(0);
+        int yearStart = first == '+' || first == '-' ? 1 : 0;
+        int yearEnd = text.indexOf('-', yearStart);
+        int yearDigits = yearEnd - yearStart;
+        boolean isYearWidthValid = first == '+'
+                ? yearDigits > PLAIN_YEAR_DIGITS && yearDigits <= MAX_YEAR_DIGITS
+                : first == '-'
+                ? yearDigits >= PLAIN_YEAR_DIGITS && yearDigits <= MAX_YEAR_DIGITS
+                : yearDigits == PLAIN_YEAR_DIGITS;
+        if (!isYearWidthValid || text.length() != yearEnd + "-MM-DD".length() || text.charAt(yearEnd + 3) != '-') {
+            return null;
+        }
+
+        long year = readAsciiDigits(text, yearStart, yearEnd);
+        int month = (int) readAsciiDigits(text, yearEnd + 1, yearEnd + 3);
+        int day = (int) readAsciiDigits(text, yearEnd + 4, yearEnd + 6);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        year = first == '-' ? -year : year;
+        if (year < Year.MIN_VALUE || year > Year.MAX_VALUE || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of((int) year, month, day);
+    }
+
+    /**
+     * Reads the text as a date, as {@link #readDate(String)} does, but only accepts dates whose
+     * {@link LocalDate#toEpochDay() epoch day} fits in an int, which is enough for about five million years
+     * either side of 1970.
+     *
+     * @param text text to read, which may be null.
+     * @return the date, or null if the text is not a date, or its epoch day does not fit in an int.
+     */
+    public static LocalDate readIntEpochDayDate(String text) {
+        LocalDate date = readDate(text);
+        if (date == null || date.toEpochDay() < Integer.MIN_VALUE || date.toEpochDay() > Integer.MAX_VALUE) {
+            return null;
+        }
+        return date;
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    /**
+     * Reads the range as a non-negative number made of the digits 0 to 9 only, as dates are.
+     *
+     * @return the number, or -1 if the range has any other character.
+     */
+    private static long readAsciiDigits(String text, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * RADIX + (c - '0');
+        }
+        return result;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,175 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JournalStorage that hands records to another JournalStorage on a background thread.
+ * Records appended in a burst are grouped, and written together once the burst is over,
+ * or once enough records are waiting.
+ * <p>
+ * Records must not change after being appended, as they are written after {@link #append} returns.
+ * Every call to the wrapped storage is made from the same background thread, in order.
+ * <p>
+ * Records that fail to be written are kept, and written again before any later records.
+ * Until they are written, or the whole object is written over them, every append and flush throws the failure.
+ *
+ * @param <T> type of object to read and write.
+ * @param <R> type of record that describes a single change to the object.
+ */
+public class WriteBehindStorage<T, R> implements JournalStorage<T, R> {
+
+    //region Fields
+
+    private final JournalStorage<T, R> storage;
+    private final long maxDelayMillis;
+    private final int maxPendingRecords;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catbot-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ArrayList<R> pendingRecords = new ArrayList<>();
+    private boolean isWriteScheduled = false;
+    private RuntimeException failure;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a WriteBehindStorage that writes to the given storage.
+     *
+     * @param storage           storage to write to.
+     * @param maxDelayMillis    longest time a record may wait before being written, in milliseconds.
+     * @param maxPendingRecords number of waiting records that triggers a write without waiting for the delay.
+     */
+    public WriteBehindStorage(JournalStorage<T, R> storage, long maxDelayMillis, int maxPendingRecords) {
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxPendingRecords = maxPendingRecords;
+    }
+
+    //endregion
+
+    //region JournalStorage
+
+    @Override
+    public void write(T object) {
+        // the object may change as soon as this returns, so it is written before returning
+        awaitOnWriter(() -> {
+            writePendingRecords();
+            storage.write(object);
+            synchronized (this) {
+                // the caller waits here, so any records left are ones that failed, and the object already has them
+                pendingRecords.clear();
+                failure = null;
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public T readOrDefault() {
+        return awaitOnWriter(() -> {
+            writePendingRecords();
+            return storage.readOrDefault();
+        });
+    }
+
+    @Override
+    public void setDefault(Supplier<T> supplier) {
+        storage.setDefault(supplier);
+    }
+
+    @Override
+    public void append(R record) {
+        appendAll(List.of(record));
+    }
+
+    @Override
+    public synchronized void appendAll(List<R> records) {
+        pendingRecords.addAll(records);
+        boolean wasBelowLimit = pendingRecords.size() - records.size() < maxPendingRecords;
+        if (pendingRecords.size() >= maxPendingRecords) {
+            if (wasBelowLimit) {
+                writer.execute(this::writePendingRecords);
+            }
+            isWriteScheduled = true;
+        } else if (!isWriteScheduled) {
+            writer.schedule(this::writePendingRecords, maxDelayMillis, TimeUnit.MILLISECONDS);
+            isWriteScheduled = true;
+        }
+        // the records are still kept, so that they are written once the storage recovers
+        throwIfFailed();
+    }
+
+    @Override
+    public void flush() {
+        awaitOnWriter(() -> {
+            writePendingRecords();
+            storage.flush();
+            return null;
+        });
+        throwIfFailed();
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private void writePendingRecords() {
+        List<R> records;
+        synchronized (this) {
+            records = pendingRecords;
+            pendingRecords = new ArrayList<>();
+            isWriteScheduled = false;
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            storage.appendAll(records);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                // the failed records go back in front of any appended since, so they are written again in order
+                ArrayList<R> unwritten = new ArrayList<>(records);
+                unwritten.addAll(pendingRecords);
+                pendingRecords = unwritten;
+                failure = e;
+            }
+            return;
+        }
+        synchronized (this) {
+            failure = null;
+        }
+    }
+
+    private synchronized void throwIfFailed() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private <V> V awaitOnWriter(Supplier<V> supplier) {
+        Future<V> future = writer.submit(supplier::get);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //endregion
+
+}
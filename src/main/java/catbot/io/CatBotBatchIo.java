@@ -0,0 +1,94 @@
+package catbot.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import catbot.bot.Bot;
+import catbot.bot.CommandArgumentStruct;
+
+/**
+ * UserIo that runs the commands of a script, one per line, without a window or a user to wait for.
+ * Output is buffered, instead of written out line by line, and is completely written out once the script ends.
+ * <p>
+ * The script ends at the end of the input, or at the first {@code bye}.
+ */
+public class CatBotBatchIo extends TextUserIo {
+
+    //region Fields
+
+    private final BufferedReader input;
+    private final BufferedWriter output;
+    private boolean isStillOpen = false;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a CatBotBatchIo that reads commands from the given input, and writes its output to the given output.
+     *
+     * @param input  stream to read the commands from.
+     * @param output stream to write the output to.
+     */
+    public CatBotBatchIo(InputStream input, OutputStream output) {
+        this.input = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.output = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    //endregion
+
+    //region UserIo
+
+    @Override
+    public void initialize() {
+        isStillOpen = true;
+        greet();
+    }
+
+    @Override
+    public void cleanup() {
+        send("Bye!");
+        isStillOpen = false;
+    }
+
+    @Override
+    public boolean isStillOpen() {
+        return isStillOpen;
+    }
+
+    @Override
+    public void takeoverExecutionLogic(Bot bot) {
+        try {
+            String line;
+            while (isStillOpen && (line = input.readLine()) != null) {
+                bot.run(CommandArgumentStruct.parse(line));
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //endregion
+
+    //region TextUserIo
+
+    @Override
+    protected void send(String s) {
+        try {
+            output.write(s);
+            output.newLine();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //endregion
+
+}
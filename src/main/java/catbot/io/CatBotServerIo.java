@@ -0,0 +1,325 @@
+package catbot.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import catbot.bot.Bot;
+import catbot.bot.CommandArgumentStruct;
+
+/**
+ * UserIo that lets any number of terminals and scripts use the bot at once, over TCP.
+ * Every connection is a session, that sends commands in the usual syntax, one per line.
+ * Each command is answered with the lines of its output, followed by an empty line that ends the reply.
+ * <p>
+ * Connections are served by a single thread with a non-blocking selector, so idle sessions cost no threads.
+ * Commands from every session run one at a time on a single command thread, in the order they arrive,
+ * so the bot and its TaskList are never used by two threads at once.
+ * Output sent while a command runs goes only to the session that sent the command.
+ * <p>
+ * {@code bye} ends the session that sends it, instead of the bot, as other sessions may still be open.
+ */
+public class CatBotServerIo extends TextUserIo {
+
+    //region Constants
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 1 << 16;
+    private static final String END_SESSION_COMMAND = "bye";
+
+    //endregion
+
+    //region Fields
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final ExecutorService commandRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catbot-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentLinkedQueue<Session> sessionsWithReplies = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean isStillOpen = true;
+    private Bot bot;
+    // only used on the thread that runs commands
+    private StringBuilder queuedOutput = new StringBuilder();
+
+    //endregion
+
+    //region Nested Types
+
+    /**
+     * State of a single connection.
+     * Input is only handled on the selector thread, while replies are added on the command thread.
+     */
+    private static class Session {
+        private final SocketChannel channel;
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        private final ConcurrentLinkedQueue<ByteBuffer> replies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCommands = new AtomicInteger();
+        private boolean isEnding = false;
+
+        private Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private boolean isDone() {
+            return isEnding && pendingCommands.get() == 0 && replies.isEmpty();
+        }
+    }
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a CatBotServerIo that listens on the given address.
+     * Connections are only accepted once {@link #takeoverExecutionLogic(Bot)} is called.
+     *
+     * @param address address to listen on, where port 0 picks any free port.
+     */
+    public CatBotServerIo(InetSocketAddress address) {
+        try {
+            this.selector = Selector.open();
+            this.server = ServerSocketChannel.open();
+            this.server.bind(address);
+            this.server.configureBlocking(false);
+            this.server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves the port that the server listens on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    //endregion
+
+    //region UserIo
+
+    @Override
+    public void initialize() {
+        //sessions are greeted as they connect
+    }
+
+    /**
+     * Stops accepting connections, and closes every session.
+     * May be called from any thread.
+     */
+    @Override
+    public void cleanup() {
+        isStillOpen = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public boolean isStillOpen() {
+        return isStillOpen;
+    }
+
+    @Override
+    public void takeoverExecutionLogic(Bot bot) {
+        this.bot = bot;
+        ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try {
+            while (isStillOpen) {
+                selector.select();
+                for (Session session = sessionsWithReplies.poll(); session != null;
+                        session = sessionsWithReplies.poll()) {
+                    SelectionKey key = session.channel.keyFor(selector);
+                    if (key != null && key.isValid()) {
+                        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key, readBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // nothing more to release
+            }
+            commandRunner.shutdown();
+        }
+    }
+
+    //endregion
+
+    //region Internal Helper
+
+    @Override
+    protected void send(String s) {
+        if (queuedOutput.length() > 0) {
+            queuedOutput.append("\n");
+        }
+        queuedOutput.append(s);
+    }
+
+    private void handle(SelectionKey key, ByteBuffer readBuffer) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                read(key, readBuffer);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(key);
+            }
+        } catch (IOException e) {
+            // a broken connection only ends its own session
+            close(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Session session = new Session(channel);
+        channel.register(selector, SelectionKey.OP_READ, session);
+        runAndReply(session, this::greet);
+    }
+
+    private void read(SelectionKey key, ByteBuffer readBuffer) throws IOException {
+        Session session = (Session) key.attachment();
+        readBuffer.clear();
+        if (session.channel.read(readBuffer) < 0) {
+            // a last line without a newline is still a command
+            if (session.partialLine.size() > 0) {
+                runLine(key, session);
+            }
+            // the client may still be waiting for the replies to what it sent
+            if (!session.isEnding) {
+                endSession(key, session);
+            }
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && !session.isEnding) {
+            byte b = readBuffer.get();
+            if (b != '\n') {
+                if (session.partialLine.size() == MAX_LINE_LENGTH) {
+                    throw new IOException("Line longer than " + MAX_LINE_LENGTH + " bytes");
+                }
+                session.partialLine.write(b);
+                continue;
+            }
+            runLine(key, session);
+        }
+    }
+
+    /**
+     * Runs the line read so far as a command, ending the session if it asks to.
+     */
+    private void runLine(SelectionKey key, Session session) {
+        String line = new String(session.partialLine.toByteArray(), StandardCharsets.UTF_8);
+        session.partialLine.reset();
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        CommandArgumentStruct command = CommandArgumentStruct.parse(line);
+        if (END_SESSION_COMMAND.equals(command.getCommand())) {
+            runAndReply(session, () -> send("Bye!"));
+            endSession(key, session);
+        } else {
+            runAndReply(session, () -> bot.run(command));
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Session session = (Session) key.attachment();
+        for (ByteBuffer reply = session.replies.peek(); reply != null; reply = session.replies.peek()) {
+            session.channel.write(reply);
+            if (reply.hasRemaining()) {
+                // the socket is full, so the rest is written once it drains
+                return;
+            }
+            session.replies.poll();
+        }
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        if (session.isDone()) {
+            close(key);
+        }
+    }
+
+    private void endSession(SelectionKey key, Session session) {
+        session.isEnding = true;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        if (session.isDone()) {
+            close(key);
+        }
+    }
+
+    /**
+     * Runs the action after every action submitted before it, from any session,
+     * then queues everything it sent as one reply to the session.
+     */
+    private void runAndReply(Session session, Runnable action) {
+        session.pendingCommands.incrementAndGet();
+        commandRunner.execute(() -> {
+            try {
+                action.run();
+            } finally {
+                StringBuilder reply = new StringBuilder();
+                for (String line : queuedOutput.toString().split("\n")) {
+                    if (!line.isEmpty()) {
+                        reply.append(line).append('\n');
+                    }
+                }
+                reply.append('\n');
+                queuedOutput = new StringBuilder();
+                session.replies.add(ByteBuffer.wrap(reply.toString().getBytes(StandardCharsets.UTF_8)));
+                session.pendingCommands.decrementAndGet();
+                sessionsWithReplies.add(session);
+                selector.wakeup();
+            }
+        });
+    }
+
+    private static void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // the connection is gone either way
+        }
+    }
+
+    //endregion
+
+}
@@ -3,9 +3,6 @@ package catbot.io;
 import java.util.Objects;
 import java.util.function.Consumer;
 
-import catbot.bot.CommandArgumentStruct;
-import catbot.internal.NamedParameterMap;
-import catbot.internal.Parser;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -16,6 +13,7 @@ import javafx.scene.layout.VBox;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
+ * User input is handed off as soon as it is entered, so that commands never run on the JavaFX application thread.
  */
 public class CatbotJavaFxController extends AnchorPane {
     @FXML
@@ -26,10 +24,8 @@ public class CatbotJavaFxController extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
-    private final Parser parser = Parser.with(null);
 
-    private Consumer<CommandArgumentStruct> commandConsumer;
-    private StringBuilder queuedAssistantOutput = new StringBuilder();
+    private Consumer<String> inputConsumer;
 
     private final Image userImage = new Image(Objects.requireNonNull(
             this.getClass().getResourceAsStream("/images/DaUser.png")));
@@ -41,21 +37,19 @@ public class CatbotJavaFxController extends AnchorPane {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
     }
 
-    void attachConsumerForParsedCommands(Consumer<CommandArgumentStruct> consumer) {
-        this.commandConsumer = consumer;
+    void attachConsumerForUserInput(Consumer<String> consumer) {
+        this.inputConsumer = consumer;
     }
 
     @FXML
     private void handleUserInput() {
-        if (commandConsumer == null) {
+        if (inputConsumer == null) {
             return;
         }
 
         String input = getUserInput();
         addUserDialog(input);
-        CommandArgumentStruct command = parseStringToStruct(input);
-        commandConsumer.accept(command);
-        sendAssistantDialogue();
+        inputConsumer.accept(input);
     }
 
     private String getUserInput() {
@@ -64,28 +58,22 @@ public class CatbotJavaFxController extends AnchorPane {
         return input;
     }
 
-    private CommandArgumentStruct parseStringToStruct(String commandString) {
-        NamedParameterMap namedParameterMap = parser.parse(commandString);
-        assert namedParameterMap.keySet().size() == 1;
-        for (String command : namedParameterMap.keySet()) {
-            return new CommandArgumentStruct(command, namedParameterMap.get(command));
-        }
-        return null;
-    }
-
     void addUserDialog(String text) {
         dialogContainer.getChildren().add(DialogBox.getUserDialog(text, userImage));
     }
 
-    void queueAssistantDialogue(String text) {
-        if (!queuedAssistantOutput.toString().isEmpty()) {
-            queuedAssistantOutput.append("\n");
-        }
-        queuedAssistantOutput.append(text);
+    /**
+     * Builds the dialog for a reply of the assistant.
+     * The dialog is not yet shown, so it may be built on any thread.
+     */
+    DialogBox createAssistantDialog(String text) {
+        return DialogBox.getDukeDialog(text, dukeImage);
     }
 
-    void sendAssistantDialogue() {
-        dialogContainer.getChildren().add(DialogBox.getDukeDialog(queuedAssistantOutput.toString(), dukeImage));
-        queuedAssistantOutput = new StringBuilder();
+    /**
+     * Shows a dialog built by {@link #createAssistantDialog(String)}. Must be called on the JavaFX application thread.
+     */
+    void addAssistantDialog(DialogBox dialog) {
+        dialogContainer.getChildren().add(dialog);
     }
 }
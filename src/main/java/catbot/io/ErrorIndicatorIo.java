@@ -1,5 +1,8 @@
 package catbot.io;
 
+import java.util.List;
+
+import catbot.internal.ArgumentSchema;
 import catbot.internal.Bounds;
 import catbot.internal.NamedParameterMap;
 
@@ -15,6 +18,14 @@ public interface ErrorIndicatorIo {
      */
     void indicateInvalidCommand(String attemptedCommand);
 
+    /**
+     * Tells the user that the command they provided is the start of several commands, so it is unclear which one.
+     *
+     * @param attemptedCommand command that was attempted.
+     * @param candidates       commands that start with the attempted command.
+     */
+    void indicateInvalidCommand(String attemptedCommand, List<String> candidates);
+
     /**
      * Tells the user that the string they provided is not an integer.
      * Usually intended to also inform the user that an integer was expected instead.
@@ -32,6 +43,19 @@ public interface ErrorIndicatorIo {
      */
     void indicateInvalidIndex(int attemptedIndex, Bounds bounds);
 
+    /**
+     * Tells the user that the transaction command they provided cannot be used right now.
+     *
+     * @param attemptedCommand command that was attempted.
+     * @param isInTransaction  true if a transaction is already in progress, and false if none is.
+     */
+    void indicateInvalidTransaction(String attemptedCommand, boolean isInTransaction);
+
+    /**
+     * Tells the user that transactions cannot be used at all, as every change is written as soon as it is made.
+     */
+    void indicateTransactionUnsupported();
+
     /**
      * Enum that identifies reason for the invalidity of arguments.
      * Used as a default option when parameter-specific information is not required.
@@ -39,7 +63,7 @@ public interface ErrorIndicatorIo {
      * @see ErrorIndicatorIo#indicateInvalidIndex example of invalid argument with parameter-specific information
      */
     enum InvalidArgumentState {
-        PARAMETER_EMPTY, PARAMETER_MISSING, NOT_A_DATE
+        PARAMETER_EMPTY, PARAMETER_MISSING, NOT_A_DATE, NOT_A_TASK_TYPE, NOT_A_NUMBER, CONFLICTING
     }
 
     /**
@@ -51,4 +75,45 @@ public interface ErrorIndicatorIo {
      */
     void indicateArgumentInvalid(InvalidArgumentState invalidState, NamedParameterMap namedParameterMap);
 
+    /**
+     * Tells the user that the arguments they provided could not be bound to the parameters of the command.
+     * Only the most basic problem is told, for every parameter that has it, as the others may follow from it.
+     * By default, the problem is told through {@link #indicateArgumentInvalid}.
+     *
+     * @param errors arguments that could not be bound, as found by {@link ArgumentSchema#bind}.
+     */
+    default void indicateArgumentsInvalid(List<ArgumentSchema.Error> errors) {
+        ArgumentSchema.Error mostBasicError = null;
+        for (ArgumentSchema.Error error : errors) {
+            if (mostBasicError == null || error.getProblem().compareTo(mostBasicError.getProblem()) < 0) {
+                mostBasicError = error;
+            }
+        }
+        if (mostBasicError == null) {
+            return;
+        }
+
+        InvalidArgumentState mostBasicState = invalidStateOf(mostBasicError);
+        NamedParameterMap namedParameterMap = new NamedParameterMap();
+        for (ArgumentSchema.Error error : errors) {
+            if (invalidStateOf(error) == mostBasicState) {
+                namedParameterMap.addNamedParameter(error.getParameter().getDisplayName(), error.getArgument());
+            }
+        }
+        indicateArgumentInvalid(mostBasicState, namedParameterMap);
+    }
+
+    private static InvalidArgumentState invalidStateOf(ArgumentSchema.Error error) {
+        switch (error.getProblem()) {
+        case MISSING:
+            return InvalidArgumentState.PARAMETER_MISSING;
+        case EMPTY:
+            return InvalidArgumentState.PARAMETER_EMPTY;
+        default:
+            return error.getParameter().getType() == ArgumentSchema.Type.DATE
+                    ? InvalidArgumentState.NOT_A_DATE
+                    : InvalidArgumentState.NOT_A_NUMBER;
+        }
+    }
+
 }
@@ -45,4 +45,23 @@ public interface TaskAssistantIo {
      */
     void displayTaskModified(TaskList taskList, int index);
 
+    /**
+     * Displays that a transaction was started.
+     */
+    void displayTransactionBegun();
+
+    /**
+     * Displays that a transaction was committed, keeping its changes.
+     *
+     * @param changeCount number of changes made during the transaction.
+     */
+    void displayTransactionCommitted(int changeCount);
+
+    /**
+     * Displays that a transaction was rolled back, undoing its changes.
+     *
+     * @param changeCount number of changes undone.
+     */
+    void displayTransactionRolledBack(int changeCount);
+
 }
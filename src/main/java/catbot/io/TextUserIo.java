@@ -0,0 +1,202 @@
+package catbot.io;
+
+import java.util.List;
+
+import catbot.internal.Bounds;
+import catbot.internal.NamedParameterMap;
+import catbot.task.Task;
+import catbot.task.TaskList;
+
+/**
+ * UserIo that talks to the user in lines of text.
+ * Subclasses decide where the text is sent, and how the user's input is received.
+ */
+public abstract class TextUserIo implements UserIo {
+
+    //region Constants
+
+    //http://www.patorjk.com/software/taag/#p=display&h=1&f=3D-ASCII&t=CAT%20BOT
+    //font: 3D-ASCII; Character Width: Fitted; Character Height: Default; Text: CAT BOT
+    public static final String NAME =
+            " ________   ________   _________        ________   ________   _________   \n"
+            + "|\\   ____\\ |\\   __  \\ |\\___   ___\\     |\\   __  \\ |\\   __  \\ |\\___   ___\\ \n"
+            + "\\ \\  \\___| \\ \\  \\|\\  \\\\|___ \\  \\_|     \\ \\  \\|\\ /_\\ \\  \\|\\  \\\\|___ \\  \\_| \n"
+            + " \\ \\  \\     \\ \\   __  \\    \\ \\  \\       \\ \\   __  \\\\ \\  \\\\\\  \\    \\ \\  \\  \n"
+            + "  \\ \\  \\____ \\ \\  \\ \\  \\    \\ \\  \\       \\ \\  \\|\\  \\\\ \\  \\\\\\  \\    \\ \\  \\ \n"
+            + "   \\ \\_______\\\\ \\__\\ \\__\\    \\ \\__\\       \\ \\_______\\\\ \\_______\\    \\ \\__\\\n"
+            + "    \\|_______| \\|__|\\|__|     \\|__|        \\|_______| \\|_______|     \\|__|\n";
+
+    //endregion
+
+    //region ErrorIndicatorIo
+
+    @Override
+    public void indicateInvalidCommand(String attemptedCommand) {
+        warn("idgi ;-;");
+    }
+
+    @Override
+    public void indicateInvalidCommand(String attemptedCommand, List<String> candidates) {
+        warn("did you mean " + String.join(" or ", candidates) + "?");
+    }
+
+    @Override
+    public void indicateInvalidInteger(String attemptedInteger) {
+        warn("that doesn't look like a number... number pls");
+    }
+
+    @Override
+    public void indicateInvalidIndex(int attemptedIndex, Bounds bounds) {
+        warn("i expected a number from " + bounds.getLower() + " to " + bounds.getUpper() + "...");
+    }
+
+    @Override
+    public void indicateInvalidTransaction(String attemptedCommand, boolean isInTransaction) {
+        warn(isInTransaction
+                ? "you're already in a transaction... commit or rollback first"
+                : "there's nothing to " + attemptedCommand + "... begin a transaction first");
+    }
+
+    @Override
+    public void indicateTransactionUnsupported() {
+        warn("i can't do transactions here... every change is saved as soon as it's made");
+    }
+
+    @Override
+    public void indicateArgumentInvalid(InvalidArgumentState invalidState, NamedParameterMap namedParameterMap) {
+        switch (invalidState) {
+        case PARAMETER_EMPTY:
+            for (String arg : namedParameterMap.keySet()) {
+                warn(arg + " is empty");
+            }
+            send("please make sure these arguments are filled!");
+            break;
+        case PARAMETER_MISSING:
+            for (String arg : namedParameterMap.keySet()) {
+                warn(arg + " is missing");
+            }
+            send("please make sure to include them next time!");
+            break;
+        case NOT_A_DATE:
+            for (String arg : namedParameterMap.keySet()) {
+                warn(arg + " is set to \"" + namedParameterMap.get(arg) + "\", which is not a date!");
+            }
+            break;
+        case NOT_A_TASK_TYPE:
+            for (String arg : namedParameterMap.keySet()) {
+                warn(arg + " is set to \"" + namedParameterMap.get(arg) + "\", which is not a type of task!");
+            }
+            send("try todo, deadline or event instead!");
+            break;
+        case NOT_A_NUMBER:
+            for (String arg : namedParameterMap.keySet()) {
+                warn(arg + " is set to \"" + namedParameterMap.get(arg) + "\", which is not a whole number!");
+            }
+            break;
+        case CONFLICTING:
+            warn(String.join(" and ", namedParameterMap.keySet()) + " can't be used together");
+            send("please pick just one!");
+            break;
+        default:
+            throw new RuntimeException();
+        }
+    }
+
+    //endregion
+
+    //region TaskAssistantIo
+
+    @Override
+    public void displayTaskList(TaskList taskList) {
+        if (taskList == null) {
+            return;
+        }
+        if (taskList.size() == 0) {
+            send("it's empty rn...");
+            return;
+        }
+
+        int i = 1;
+        int intlen = 0;
+        for (int len = taskList.size(); len > 0; intlen++) {
+            len /= 10;
+        }
+        for (String taskString : taskList.getTaskStrings()) {
+            send(String.format("%" + intlen + "d", i++) + ". " + taskString);
+        }
+    }
+
+    @Override
+    public void displayTaskListWithoutNumber(TaskList taskList) {
+        if (taskList == null) {
+            return;
+        }
+        if (taskList.size() == 0) {
+            send("there are no tasks to see...");
+            return;
+        }
+        for (String taskString : taskList.getTaskStrings()) {
+            send(String.format("- " + taskString));
+        }
+    }
+
+    @Override
+    public void displayTaskAdded(TaskList taskList) {
+        int index = taskList.size() - 1;
+        send("Added: " + (index + 1) + ". " + taskList.getTask(index));
+    }
+
+    @Override
+    public void displayTaskDeleted(Task deleted) {
+        send("Deleted: " + deleted);
+    }
+
+    @Override
+    public void displayTaskModified(TaskList taskList, int index) {
+        send((index + 1) + ". " + taskList.getTask(index));
+    }
+
+    @Override
+    public void displayTransactionBegun() {
+        send("ok, i'll hold on to your changes until you commit or rollback");
+    }
+
+    @Override
+    public void displayTransactionCommitted(int changeCount) {
+        send("Committed " + changeCount + (changeCount == 1 ? " change" : " changes"));
+    }
+
+    @Override
+    public void displayTransactionRolledBack(int changeCount) {
+        send("Rolled back " + changeCount + (changeCount == 1 ? " change" : " changes"));
+    }
+
+    //endregion
+
+    //region Internal Helper
+
+    /**
+     * Sends the welcome message.
+     */
+    protected void greet() {
+        send("Hiya! I'm\n" + NAME + "\n");
+    }
+
+    /**
+     * Sends a line of text to the user.
+     *
+     * @param s text to send, which may span several lines.
+     */
+    protected abstract void send(String s);
+
+    /**
+     * Sends a line of text to the user, marked as a warning.
+     *
+     * @param s text to send.
+     */
+    protected void warn(String s) {
+        send("! " + s);
+    }
+
+    //endregion
+}
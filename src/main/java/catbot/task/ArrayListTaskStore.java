@@ -0,0 +1,75 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * TaskStore that keeps every Task on the heap, in an ArrayList indexed by id.
+ * Removed Tasks leave an empty slot behind, so that later ids do not change.
+ */
+public class ArrayListTaskStore implements TaskStore {
+
+    private final ArrayList<Task> tasks;
+    private int size;
+
+    /**
+     * Constructs an ArrayListTaskStore that holds the Tasks in the given list.
+     *
+     * @param tasks list of Tasks to hold, which is used directly rather than copied.
+     */
+    public ArrayListTaskStore(ArrayList<Task> tasks) {
+        this.tasks = tasks;
+        this.size = tasks.size();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            throw new NoSuchElementException("No task with id " + id);
+        }
+        return task;
+    }
+
+    @Override
+    public String getDescription(int id) {
+        return get(id).getDescription();
+    }
+
+    @Override
+    public int add(Task task) {
+        tasks.add(task);
+        size++;
+        return tasks.size() - 1;
+    }
+
+    @Override
+    public void set(int id, Task task) {
+        get(id);
+        tasks.set(id, task);
+    }
+
+    @Override
+    public Task remove(int id) {
+        Task removed = get(id);
+        tasks.set(id, null);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public void restore(int id, Task task) {
+        tasks.set(id, task);
+        size++;
+    }
+
+    @Override
+    public void flush() {
+        //kept on the heap; nothing to write
+    }
+}
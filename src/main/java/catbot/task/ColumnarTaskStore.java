@@ -0,0 +1,201 @@
+package catbot.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * TaskStore that keeps each field of the Tasks in its own primitive array, instead of one object per Task.
+ * Descriptions are kept as UTF-8 in a single shared byte array, and dates as epoch days.
+ * Tasks are only created when retrieved, as copies that do not change the store.
+ * <p>
+ * Replacing or removing a Task leaves its old description in the shared array, unused,
+ * until unused descriptions take up more space than the ones in use.
+ * Removing a Task leaves its id unused in every column, so that later ids do not change.
+ */
+public class ColumnarTaskStore implements TaskStore {
+
+    //region Constants
+
+    private static final byte TODO_TYPE = 0;
+    private static final byte DEADLINE_TYPE = 1;
+    private static final byte EVENT_TYPE = 2;
+    private static final byte REMOVED_TYPE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_BYTES_BEFORE_COMPACTION = 1 << 12;
+
+    //endregion
+
+    //region Fields
+
+    private final BitSet isDone = new BitSet();
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] firstDays = new int[INITIAL_CAPACITY];
+    private int[] secondDays = new int[INITIAL_CAPACITY];
+    private int[] descriptionStarts = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private byte[] descriptions = new byte[INITIAL_CAPACITY * 16];
+    private int descriptionsEnd = 0;
+    private int unusedDescriptionBytes = 0;
+    private int idCount = 0;
+    private int size = 0;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a ColumnarTaskStore holding copies of the given Tasks.
+     * The list is not kept, so it can be discarded after construction.
+     *
+     * @param tasks Tasks to hold, in order.
+     */
+    public ColumnarTaskStore(ArrayList<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    //endregion
+
+    //region TaskStore
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int id) {
+        String description = getDescription(id);
+        Task task;
+        switch (types[id]) {
+        case DEADLINE_TYPE:
+            task = new Deadline(description, LocalDate.ofEpochDay(firstDays[id]));
+            break;
+        case EVENT_TYPE:
+            task = new Event(description,
+                    LocalDate.ofEpochDay(firstDays[id]), LocalDate.ofEpochDay(secondDays[id]));
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+        if (isDone.get(id)) {
+            task.setDone();
+        }
+        return task;
+    }
+
+    @Override
+    public String getDescription(int id) {
+        checkId(id);
+        return new String(descriptions, descriptionStarts[id], descriptionLengths[id], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int add(Task task) {
+        if (idCount == types.length) {
+            int capacity = idCount * 2;
+            types = Arrays.copyOf(types, capacity);
+            firstDays = Arrays.copyOf(firstDays, capacity);
+            secondDays = Arrays.copyOf(secondDays, capacity);
+            descriptionStarts = Arrays.copyOf(descriptionStarts, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+        size++;
+        write(idCount, task);
+        return idCount++;
+    }
+
+    @Override
+    public void set(int id, Task task) {
+        checkId(id);
+        unusedDescriptionBytes += descriptionLengths[id];
+        write(id, task);
+        compactIfDue();
+    }
+
+    @Override
+    public Task remove(int id) {
+        Task removed = get(id);
+        unusedDescriptionBytes += descriptionLengths[id];
+        types[id] = REMOVED_TYPE;
+        descriptionLengths[id] = 0;
+        isDone.clear(id);
+        size--;
+        compactIfDue();
+        return removed;
+    }
+
+    @Override
+    public void restore(int id, Task task) {
+        write(id, task);
+        size++;
+    }
+
+    @Override
+    public void flush() {
+        //kept on the heap; nothing to write
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private void checkId(int id) {
+        if (types[Objects.checkIndex(id, idCount)] == REMOVED_TYPE) {
+            throw new NoSuchElementException("No task with id " + id);
+        }
+    }
+
+    private void write(int id, Task task) {
+        isDone.set(id, task.isDone());
+        if (task instanceof Deadline) {
+            types[id] = DEADLINE_TYPE;
+            firstDays[id] = Math.toIntExact(((Deadline) task).getDueDate().toEpochDay());
+        } else if (task instanceof Event) {
+            types[id] = EVENT_TYPE;
+            firstDays[id] = Math.toIntExact(((Event) task).getEventStart().toEpochDay());
+            secondDays[id] = Math.toIntExact(((Event) task).getEventEnd().toEpochDay());
+        } else {
+            types[id] = TODO_TYPE;
+        }
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (descriptionsEnd + description.length > descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions,
+                    Math.max(descriptions.length * 2, descriptionsEnd + description.length));
+        }
+        System.arraycopy(description, 0, descriptions, descriptionsEnd, description.length);
+        descriptionStarts[id] = descriptionsEnd;
+        descriptionLengths[id] = description.length;
+        descriptionsEnd += description.length;
+    }
+
+    /**
+     * Copies the descriptions still in use to a new array, once most of the current array is unused.
+     */
+    private void compactIfDue() {
+        if (unusedDescriptionBytes < Math.max(MIN_BYTES_BEFORE_COMPACTION, descriptionsEnd / 2)) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY * 16, (descriptionsEnd - unusedDescriptionBytes) * 2)];
+        int end = 0;
+        for (int i = 0; i < idCount; i++) {
+            System.arraycopy(descriptions, descriptionStarts[i], compacted, end, descriptionLengths[i]);
+            descriptionStarts[i] = end;
+            end += descriptionLengths[i];
+        }
+        descriptions = compacted;
+        descriptionsEnd = end;
+        unusedDescriptionBytes = 0;
+    }
+
+    //endregion
+
+}
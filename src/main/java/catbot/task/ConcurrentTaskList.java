@@ -0,0 +1,345 @@
+package catbot.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import catbot.internal.Bounds;
+import catbot.internal.NamedParameterMap;
+
+/**
+ * TaskList that may be shared between threads.
+ * Any number of threads read the list at once, while changes are made by one thread at a time.
+ * <p>
+ * {@link #size()} and {@link #getIndexBounds()} only read a count, so they run without locking,
+ * and are only repeated under a read lock if the list changed while they ran.
+ * Every other read, searches included, holds the read lock, so readers do not block each other.
+ * Searches use indexes that are built on first use, so the first search builds every index under the write lock,
+ * after which the indexes are only changed along with the list.
+ * <p>
+ * Checking an index and then using it are two steps, between which another thread could remove the task,
+ * so modifications by index should go through the checked methods such as
+ * {@link #markTaskIfValidElse(int, Consumer, Consumer)}, which do both under the lock.
+ * Their consumers are called before the lock is released, so they see the task as it was changed,
+ * and must not wait for other threads that use the list.
+ * <p>
+ * Tasks are read by several threads at once, so the store must not change its state when read,
+ * and must return copies of its Tasks rather than the Tasks it holds.
+ * {@link ArrayListTaskStore} and {@link PagedTaskStore} do neither, and are rejected.
+ * <p>
+ * A transaction belongs to the list rather than to a thread, so it holds the changes made by every thread.
+ */
+public class ConcurrentTaskList extends TaskList {
+
+    //region Fields
+
+    private final StampedLock lock = new StampedLock();
+    // StampedLock is not reentrant, so methods that call each other check whether they already hold it
+    private final ThreadLocal<Boolean> isSearching = ThreadLocal.withInitial(() -> false);
+    private volatile Thread writer;
+    private volatile boolean isIndexed = false;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a ConcurrentTaskList with a path to read and write from, for storage.
+     *
+     * @param path relative directory to read from and write to.
+     */
+    public ConcurrentTaskList(String path) {
+        this(path, PersistentTaskStore::new);
+    }
+
+    /**
+     * Constructs a ConcurrentTaskList with a path to read and write from, for storage,
+     * that keeps the tasks read in a store of the caller's choice.
+     *
+     * @param path         relative directory to read from and write to.
+     * @param storeFactory function that creates the store to keep the tasks in, from the tasks read.
+     * @throws IllegalArgumentException if the store created cannot be read by several threads at once.
+     */
+    public ConcurrentTaskList(String path, Function<ArrayList<Task>, TaskStore> storeFactory) {
+        super(path, storeFactory.andThen(ConcurrentTaskList::requireSharableStore));
+    }
+
+    /**
+     * Constructs a ConcurrentTaskList that keeps its tasks in the given store.
+     *
+     * @param store store holding the tasks of the list.
+     * @throws IllegalArgumentException if the store cannot be read by several threads at once.
+     */
+    public ConcurrentTaskList(TaskStore store) {
+        super(requireSharableStore(store));
+    }
+
+    //endregion
+
+    //region Changes
+
+    @Override
+    public void addTask(Task task) {
+        write(() -> {
+            super.addTask(task);
+            return null;
+        });
+    }
+
+    @Override
+    public Task removeTask(int index) {
+        return write(() -> super.removeTask(index));
+    }
+
+    @Override
+    public void markTask(int index) {
+        write(() -> {
+            super.markTask(index);
+            return null;
+        });
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        write(() -> {
+            super.unmarkTask(index);
+            return null;
+        });
+    }
+
+    @Override
+    public void editTask(int index, NamedParameterMap map) {
+        write(() -> {
+            super.editTask(index, map);
+            return null;
+        });
+    }
+
+    @Override
+    public void markTaskIfValidElse(int integer, Consumer<Integer> ifMarked, Consumer<Integer> otherwise) {
+        write(() -> {
+            super.markTaskIfValidElse(integer, ifMarked, otherwise);
+            return null;
+        });
+    }
+
+    @Override
+    public void unmarkTaskIfValidElse(int integer, Consumer<Integer> ifUnmarked, Consumer<Integer> otherwise) {
+        write(() -> {
+            super.unmarkTaskIfValidElse(integer, ifUnmarked, otherwise);
+            return null;
+        });
+    }
+
+    @Override
+    public void editTaskIfValidElse(int integer, NamedParameterMap map,
+                                    Consumer<Integer> ifEdited, Consumer<Integer> otherwise) {
+        write(() -> {
+            super.editTaskIfValidElse(integer, map, ifEdited, otherwise);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeTaskIfValidElse(int integer, Consumer<Task> ifRemoved, Consumer<Integer> otherwise) {
+        write(() -> {
+            super.removeTaskIfValidElse(integer, ifRemoved, otherwise);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean beginTransaction() {
+        return write(super::beginTransaction);
+    }
+
+    @Override
+    public Optional<Integer> commitTransaction() {
+        return write(super::commitTransaction);
+    }
+
+    @Override
+    public Optional<Integer> rollbackTransaction() {
+        return write(super::rollbackTransaction);
+    }
+
+    @Override
+    public void deferWrites(int maxDeferred) {
+        write(() -> {
+            super.deferWrites(maxDeferred);
+            return null;
+        });
+    }
+
+    @Override
+    public void flush() {
+        write(() -> {
+            super.flush();
+            return null;
+        });
+    }
+
+    //endregion
+
+    //region Reads
+
+    @Override
+    public Bounds getIndexBounds() {
+        return readCount(super::getIndexBounds);
+    }
+
+    @Override
+    public int size() {
+        return readCount(super::size);
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return read(() -> super.getTask(index));
+    }
+
+    @Override
+    public int getTaskId(int index) {
+        return read(() -> super.getTaskId(index));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(() -> super.getTaskById(id));
+    }
+
+    @Override
+    public int getIndexOfId(int id) {
+        return read(() -> super.getIndexOfId(id));
+    }
+
+    @Override
+    public ArrayList<String> getTaskStrings() {
+        return read(super::getTaskStrings);
+    }
+
+    @Override
+    public TaskListSnapshot snapshot() {
+        return read(super::snapshot);
+    }
+
+    //endregion
+
+    //region Searches
+
+    @Override
+    public TaskList findInDescriptions(String string, TaskFilter filter) {
+        return search(() -> super.findInDescriptions(string, filter));
+    }
+
+    @Override
+    public TaskList findWordsInDescriptions(String string, TaskFilter filter) {
+        return search(() -> super.findWordsInDescriptions(string, filter));
+    }
+
+    @Override
+    public TaskList findFuzzyWordsInDescriptions(String string, int maxDistance, TaskFilter filter) {
+        return search(() -> super.findFuzzyWordsInDescriptions(string, maxDistance, filter));
+    }
+
+    @Override
+    public TaskList filter(TaskFilter filter) {
+        return search(() -> super.filter(filter));
+    }
+
+    @Override
+    public TaskList findDueBefore(LocalDate date) {
+        return search(() -> super.findDueBefore(date));
+    }
+
+    @Override
+    public TaskList findMostUrgent(int count) {
+        return search(() -> super.findMostUrgent(count));
+    }
+
+    @Override
+    public TaskList findOverlapping(LocalDate from, LocalDate to) {
+        return search(() -> super.findOverlapping(from, to));
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private static TaskStore requireSharableStore(TaskStore store) {
+        if (store instanceof ArrayListTaskStore || store instanceof PagedTaskStore) {
+            throw new IllegalArgumentException(
+                    store.getClass().getSimpleName() + " cannot be read by several threads at once");
+        }
+        return store;
+    }
+
+    private TaskList search(Supplier<TaskList> search) {
+        // searches such as filter call other searches, while already holding the lock
+        if (isSearching.get()) {
+            return search.get();
+        }
+        if (!isIndexed) {
+            write(() -> {
+                buildIndexes();
+                isIndexed = true;
+                return null;
+            });
+        }
+        isSearching.set(true);
+        try {
+            return read(search);
+        } finally {
+            isSearching.set(false);
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        if (writer == Thread.currentThread()) {
+            return action.get();
+        }
+        long stamp = lock.writeLock();
+        writer = Thread.currentThread();
+        try {
+            return action.get();
+        } finally {
+            writer = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private <T> T read(Supplier<T> action) {
+        if (writer == Thread.currentThread()) {
+            return action.get();
+        }
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Reads a count of the list without locking, repeating the read under the read lock
+     * only if the list changed while it ran. Only reads of plain fields may run without locking,
+     * as anything more could see the list half changed and fail.
+     */
+    private <T> T readCount(Supplier<T> action) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            T result = action.get();
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+        return read(action);
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,123 @@
+package catbot.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import catbot.internal.IntervalTree;
+import catbot.internal.RankedIdSet;
+
+/**
+ * Index over the dates of Deadlines and Events, as epoch days.
+ * Deadlines are kept as intervals of a single day, in a separate tree from Events,
+ * so that queries about Deadlines never visit Events.
+ */
+class DateIndex implements TaskIndex {
+
+    //region Fields
+
+    private final IntervalTree deadlines = new IntervalTree();
+    private final IntervalTree events = new IntervalTree();
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a DateIndex over the Tasks currently in the store.
+     *
+     * @param tasks store holding the Tasks to index.
+     * @param ids   ids of the Tasks in the store.
+     */
+    DateIndex(TaskStore tasks, RankedIdSet ids) {
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            added(id, tasks.get(id));
+        }
+    }
+
+    //endregion
+
+    //region TaskIndex
+
+    @Override
+    public void added(int id, Task task) {
+        if (task instanceof Deadline) {
+            long dueDay = ((Deadline) task).getDueDate().toEpochDay();
+            deadlines.add(dueDay, dueDay, id);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            long startDay = event.getEventStart().toEpochDay();
+            // an event that ends before it starts is treated as lasting its start day
+            events.add(startDay, Math.max(startDay, event.getEventEnd().toEpochDay()), id);
+        }
+    }
+
+    @Override
+    public void changed(int id, Task before, Task after) {
+        remove(id, before);
+        added(id, after);
+    }
+
+    @Override
+    public void removed(int id, Task task) {
+        remove(id, task);
+    }
+
+    //endregion
+
+    //region Queries
+
+    /**
+     * Finds the ids of Deadlines due before the given date.
+     *
+     * @param date date that the Deadlines are due before.
+     * @return ids of matching Deadlines, in order of due date.
+     */
+    ArrayList<Integer> findDueBefore(LocalDate date) {
+        ArrayList<Integer> matches = new ArrayList<>();
+        deadlines.forEachOverlapping(Long.MIN_VALUE, date.toEpochDay() - 1, (start, end, id) -> matches.add(id));
+        return matches;
+    }
+
+    /**
+     * Finds the ids of Events that overlap the given dates, and Deadlines due within them.
+     *
+     * @param from first date of the range, inclusive.
+     * @param to   last date of the range, inclusive.
+     * @return ids of matching Tasks, in order of start or due date.
+     */
+    ArrayList<Integer> findOverlapping(LocalDate from, LocalDate to) {
+        ArrayList<Long> deadlineDays = new ArrayList<>();
+        ArrayList<Integer> deadlineIds = new ArrayList<>();
+        deadlines.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), (start, end, id) -> {
+            deadlineDays.add(start);
+            deadlineIds.add(id);
+        });
+
+        // both trees are visited in order of date, so the results only need to be merged
+        ArrayList<Integer> matches = new ArrayList<>();
+        int[] nextDeadline = {0};
+        events.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), (start, end, id) -> {
+            while (nextDeadline[0] < deadlineDays.size() && deadlineDays.get(nextDeadline[0]) < start) {
+                matches.add(deadlineIds.get(nextDeadline[0]++));
+            }
+            matches.add(id);
+        });
+        matches.addAll(deadlineIds.subList(nextDeadline[0], deadlineIds.size()));
+        return matches;
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private void remove(int id, Task task) {
+        if (task instanceof Deadline) {
+            deadlines.remove(((Deadline) task).getDueDate().toEpochDay(), id);
+        } else if (task instanceof Event) {
+            events.remove(((Event) task).getEventStart().toEpochDay(), id);
+        }
+    }
+
+    //endregion
+
+}
@@ -1,67 +1,63 @@
 package catbot.task;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import catbot.internal.ArgumentSchema;
+import catbot.internal.BoundArguments;
 import catbot.internal.NamedParameterMap;
-import catbot.io.ErrorIndicatorIo;
+import catbot.internal.ParameterView;
 
 /**
  * Task with a due date.
  */
 public class Deadline extends Task {
 
+    private static final long serialVersionUID = -7182949045019515924L;
 
     private static final String DESC_KEY = "";
     private static final String DUE_DATE_KEY = "by";
 
+    private static final ArgumentSchema SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<String> DESCRIPTION =
+            SCHEMA.required(DESC_KEY, ArgumentSchema.Type.TEXT, "description");
+    private static final ArgumentSchema.Parameter<LocalDate> DUE_DATE =
+            SCHEMA.required(DUE_DATE_KEY, ArgumentSchema.Type.DATE, "due date");
+
     private LocalDate dueDate;
 
-    private Deadline(String desc, LocalDate dateTime) {
+    Deadline(String desc, LocalDate dateTime) {
         setDescription(desc);
         setDueDate(dateTime);
     }
 
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
     public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
 
     /**
-     * Optionally creates a Deadline, if the given NamedParameterMap has valid arguments.
+     * Optionally creates a Deadline, if the given parameters have valid arguments.
      *
-     * @param map                 map of parameters and arguments to attempt to create a Deadline.
-     * @param invalidStateHandler consumer to accept information about the error in case of argument invalidity.
+     * @param view           parameters and arguments to attempt to create a Deadline.
+     * @param invalidHandler consumer to accept the arguments that are invalid, in case of argument invalidity.
      * @return an Optional Task if arguments are valid, otherwise an empty Optional.
      */
     public static Optional<Task> createIfValidElse(
-            NamedParameterMap map,
-            BiConsumer<ErrorIndicatorIo.InvalidArgumentState, NamedParameterMap> invalidStateHandler
+            ParameterView view,
+            Consumer<List<ArgumentSchema.Error>> invalidHandler
     ) {
-
-        Optional<InvalidArgumentStruct> optionalInvalidParameterState =
-                Task.invalidStateIfTaskParametersMissingOrBlank(
-                        map,
-                        DESC_KEY, DUE_DATE_KEY
-                );
-        if (optionalInvalidParameterState.isPresent()) {
-            InvalidArgumentStruct invalidArgumentStruct = optionalInvalidParameterState.get();
-            invalidArgumentStruct.parameters.moveToNewKey(DESC_KEY, "description");
-            invalidArgumentStruct.parameters.moveToNewKey(DUE_DATE_KEY, "due date");
-            invalidStateHandler.accept(invalidArgumentStruct.state, invalidArgumentStruct.parameters);
-            return Optional.empty();
-        }
-
-        String description = map.get(DESC_KEY);
-        NamedParameterMap invalidArgs = new NamedParameterMap();
-        Optional<LocalDate> optionalDueDate = Task.parseOptionalDateElseMap(map, invalidArgs, DUE_DATE_KEY);
-        if (optionalDueDate.isPresent()) {
-            return Optional.of(new Deadline(description, optionalDueDate.get()));
-        } else {
-            invalidArgs.moveToNewKey(DUE_DATE_KEY, "due date");
-            invalidStateHandler.accept(ErrorIndicatorIo.InvalidArgumentState.NOT_A_DATE, invalidArgs);
+        BoundArguments arguments = SCHEMA.bind(view);
+        if (!arguments.getErrors().isEmpty()) {
+            invalidHandler.accept(arguments.getErrors());
             return Optional.empty();
         }
+        return Optional.of(new Deadline(arguments.get(DESCRIPTION), arguments.get(DUE_DATE)));
     }
 
     @Override
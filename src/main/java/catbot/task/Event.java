@@ -1,31 +1,51 @@
 package catbot.task;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import catbot.internal.ArgumentSchema;
+import catbot.internal.BoundArguments;
 import catbot.internal.NamedParameterMap;
-import catbot.io.ErrorIndicatorIo;
+import catbot.internal.ParameterView;
 
 /**
  * Task with start and end dates.
  */
 public class Event extends Task {
 
+    private static final long serialVersionUID = -8664705516079932891L;
+
     private static final String DESC_KEY = "";
     private static final String START_DATE_KEY = "from";
     private static final String END_DATE_KEY = "to";
 
+    private static final ArgumentSchema SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<String> DESCRIPTION =
+            SCHEMA.required(DESC_KEY, ArgumentSchema.Type.TEXT, "description");
+    private static final ArgumentSchema.Parameter<LocalDate> START_DATE =
+            SCHEMA.required(START_DATE_KEY, ArgumentSchema.Type.DATE, "start date");
+    private static final ArgumentSchema.Parameter<LocalDate> END_DATE =
+            SCHEMA.required(END_DATE_KEY, ArgumentSchema.Type.DATE, "end date");
 
     private LocalDate eventStart;
     private LocalDate eventEnd;
 
-    private Event(String desc, LocalDate start, LocalDate end) {
+    Event(String desc, LocalDate start, LocalDate end) {
         setDescription(desc);
         setEventStart(start);
         setEventEnd(end);
     }
 
+    public LocalDate getEventStart() {
+        return eventStart;
+    }
+
+    public LocalDate getEventEnd() {
+        return eventEnd;
+    }
+
     public void setEventEnd(LocalDate eventEnd) {
         this.eventEnd = eventEnd;
     }
@@ -35,44 +55,22 @@ public class Event extends Task {
     }
 
     /**
-     * Optionally creates a Deadline, if the given NamedParameterMap has valid arguments.
+     * Optionally creates an Event, if the given parameters have valid arguments.
      *
-     * @param map                 map of parameters and arguments to attempt to create a Deadline.
-     * @param invalidStateHandler consumer to accept information about the error in case of argument invalidity.
+     * @param view           parameters and arguments to attempt to create an Event.
+     * @param invalidHandler consumer to accept the arguments that are invalid, in case of argument invalidity.
      * @return an Optional Task if arguments are valid, otherwise an empty Optional.
      */
     public static Optional<Task> createIfValidElse(
-            NamedParameterMap map,
-            BiConsumer<ErrorIndicatorIo.InvalidArgumentState, NamedParameterMap> invalidStateHandler
+            ParameterView view,
+            Consumer<List<ArgumentSchema.Error>> invalidHandler
     ) {
-
-        Optional<InvalidArgumentStruct> optionalInvalidParameterState =
-                Task.invalidStateIfTaskParametersMissingOrBlank(
-                        map,
-                        DESC_KEY, START_DATE_KEY, END_DATE_KEY
-                );
-        if (optionalInvalidParameterState.isPresent()) {
-            InvalidArgumentStruct invalidArgumentStruct = optionalInvalidParameterState.get();
-            invalidArgumentStruct.parameters.moveToNewKey(DESC_KEY, "description");
-            invalidArgumentStruct.parameters.moveToNewKey(START_DATE_KEY, "start date");
-            invalidArgumentStruct.parameters.moveToNewKey(END_DATE_KEY, "end date");
-            invalidStateHandler.accept(invalidArgumentStruct.state, invalidArgumentStruct.parameters);
-            return Optional.empty();
-        }
-
-        String description = map.get(DESC_KEY);
-        NamedParameterMap invalidArgs = new NamedParameterMap();
-        Optional<LocalDate> start = Task.parseOptionalDateElseMap(map, invalidArgs, START_DATE_KEY);
-        Optional<LocalDate> end = Task.parseOptionalDateElseMap(map, invalidArgs, END_DATE_KEY);
-        if (start.isEmpty() || end.isEmpty()) {
-            invalidArgs.moveToNewKey(DESC_KEY, "description");
-            invalidArgs.moveToNewKey(START_DATE_KEY, "start date");
-            invalidArgs.moveToNewKey(END_DATE_KEY, "end date");
-            invalidStateHandler.accept(ErrorIndicatorIo.InvalidArgumentState.NOT_A_DATE, invalidArgs);
+        BoundArguments arguments = SCHEMA.bind(view);
+        if (!arguments.getErrors().isEmpty()) {
+            invalidHandler.accept(arguments.getErrors());
             return Optional.empty();
-        } else {
-            return Optional.of(new Event(description, start.get(), end.get()));
         }
+        return Optional.of(new Event(arguments.get(DESCRIPTION), arguments.get(START_DATE), arguments.get(END_DATE)));
     }
 
     @Override
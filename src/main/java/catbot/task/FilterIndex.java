@@ -0,0 +1,86 @@
+package catbot.task;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+
+import catbot.internal.RankedIdSet;
+
+/**
+ * Bitmaps of the ids of Tasks that are done, and of Tasks of each type.
+ * Filters are answered by combining bitmaps a word at a time, without looking at any Task.
+ */
+class FilterIndex implements TaskIndex {
+
+    //region Fields
+
+    private final BitSet all = new BitSet();
+    private final BitSet done = new BitSet();
+    private final EnumMap<TaskFilter.Type, BitSet> types = new EnumMap<>(TaskFilter.Type.class);
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a FilterIndex over the Tasks currently in the store.
+     *
+     * @param tasks store holding the Tasks to index.
+     * @param ids   ids of the Tasks in the store.
+     */
+    FilterIndex(TaskStore tasks, RankedIdSet ids) {
+        for (TaskFilter.Type type : TaskFilter.Type.values()) {
+            types.put(type, new BitSet());
+        }
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            added(id, tasks.get(id));
+        }
+    }
+
+    //endregion
+
+    //region TaskIndex
+
+    @Override
+    public void added(int id, Task task) {
+        all.set(id);
+        done.set(id, task.isDone());
+        types.get(TaskFilter.Type.of(task)).set(id);
+    }
+
+    @Override
+    public void changed(int id, Task before, Task after) {
+        done.set(id, after.isDone());
+    }
+
+    @Override
+    public void removed(int id, Task task) {
+        all.clear(id);
+        done.clear(id);
+        types.get(TaskFilter.Type.of(task)).clear(id);
+    }
+
+    //endregion
+
+    //region Queries
+
+    /**
+     * Finds the ids of Tasks that match the filter.
+     *
+     * @param filter filter to match.
+     * @return bitmap of matching ids, which may be modified by the caller.
+     */
+    BitSet findMatching(TaskFilter filter) {
+        BitSet matching = (BitSet) filter.getType().map(types::get).orElse(all).clone();
+        filter.getDone().ifPresent(isDone -> {
+            if (isDone) {
+                matching.and(done);
+            } else {
+                matching.andNot(done);
+            }
+        });
+        return matching;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,204 @@
+package catbot.task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * TaskStore that keeps Tasks outside the Java heap, in direct ByteBuffers, so that the garbage collector
+ * never has to trace them. Tasks are encoded with {@link TaskCodec}, and decoded into short-lived copies
+ * when retrieved.
+ * <p>
+ * Space is handed out in blocks of power-of-two sizes, carved from large chunks.
+ * Blocks of removed or replaced Tasks are kept in a free list per size, and reused for later Tasks.
+ * The table from ids to blocks is kept in a direct ByteBuffer too, so the heap used by the store
+ * does not grow with the number of Tasks.
+ */
+public class OffHeapTaskStore implements TaskStore {
+
+    //region Constants
+
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int MIN_BLOCK_SIZE_BITS = 4;
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES;
+    private static final long NO_BLOCK = -1;
+
+    //endregion
+
+    //region Fields
+
+    private final ArrayList<ByteBuffer> chunks = new ArrayList<>();
+    private final long[] freeBlocks = new long[Integer.SIZE];
+    private ByteBuffer blocksById = ByteBuffer.allocateDirect(16 * Long.BYTES);
+    private int chunkEnd = 0;
+    private int idCount = 0;
+    private int size = 0;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs an OffHeapTaskStore holding copies of the given Tasks.
+     * The list is not kept, so it can be discarded after construction.
+     *
+     * @param tasks Tasks to hold, in order.
+     */
+    public OffHeapTaskStore(ArrayList<Task> tasks) {
+        Arrays.fill(freeBlocks, NO_BLOCK);
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    //endregion
+
+    //region TaskStore
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int id) {
+        try {
+            return TaskCodec.decode(readRecord(getBlock(id)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String getDescription(int id) {
+        try {
+            return TaskCodec.decodeDescription(readRecord(getBlock(id)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int add(Task task) {
+        if ((idCount + 1) * Long.BYTES > blocksById.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(blocksById.capacity() * 2);
+            grown.put(blocksById.duplicate().clear());
+            blocksById = grown;
+        }
+        blocksById.putLong(idCount * Long.BYTES, writeRecord(TaskCodec.encode(task), NO_BLOCK));
+        size++;
+        return idCount++;
+    }
+
+    @Override
+    public void set(int id, Task task) {
+        blocksById.putLong(id * Long.BYTES, writeRecord(TaskCodec.encode(task), getBlock(id)));
+    }
+
+    @Override
+    public Task remove(int id) {
+        Task removed = get(id);
+        long block = getBlock(id);
+        free(block, sizeBitsOf(readRecord(block).remaining()));
+        blocksById.putLong(id * Long.BYTES, NO_BLOCK);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public void restore(int id, Task task) {
+        blocksById.putLong(id * Long.BYTES, writeRecord(TaskCodec.encode(task), NO_BLOCK));
+        size++;
+    }
+
+    @Override
+    public void flush() {
+        //kept in memory; nothing to write
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private long getBlock(int id) {
+        long block = blocksById.getLong(Objects.checkIndex(id, idCount) * Long.BYTES);
+        if (block == NO_BLOCK) {
+            throw new NoSuchElementException("No task with id " + id);
+        }
+        return block;
+    }
+
+    private static int chunkOf(long block) {
+        return (int) (block >>> Integer.SIZE);
+    }
+
+    private static int offsetOf(long block) {
+        return (int) block;
+    }
+
+    /**
+     * Returns the number of bits in the size of the smallest block that fits a record of the given length.
+     */
+    private static int sizeBitsOf(int length) {
+        int blockSize = RECORD_HEADER_LENGTH + length;
+        return Math.max(MIN_BLOCK_SIZE_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(blockSize - 1));
+    }
+
+    /**
+     * Returns a buffer positioned at the start of the record in the block, and limited to its end.
+     */
+    private ByteBuffer readRecord(long block) {
+        ByteBuffer chunk = chunks.get(chunkOf(block));
+        int start = offsetOf(block) + RECORD_HEADER_LENGTH;
+        return chunk.duplicate().limit(start + chunk.getInt(offsetOf(block))).position(start);
+    }
+
+    /**
+     * Writes the record into the given block if it fits, or into a new block otherwise.
+     *
+     * @return the block written to.
+     */
+    private long writeRecord(byte[] record, long block) {
+        int sizeBits = sizeBitsOf(record.length);
+        if (block != NO_BLOCK) {
+            int oldSizeBits = sizeBitsOf(readRecord(block).remaining());
+            if (oldSizeBits != sizeBits) {
+                free(block, oldSizeBits);
+                block = allocate(sizeBits);
+            }
+        } else {
+            block = allocate(sizeBits);
+        }
+        chunks.get(chunkOf(block)).duplicate().position(offsetOf(block)).putInt(record.length).put(record);
+        return block;
+    }
+
+    private long allocate(int sizeBits) {
+        long block = freeBlocks[sizeBits];
+        if (block != NO_BLOCK) {
+            // free blocks hold the next free block of the same size in place of their record
+            freeBlocks[sizeBits] = chunks.get(chunkOf(block)).getLong(offsetOf(block));
+            return block;
+        }
+
+        int blockSize = 1 << sizeBits;
+        if (chunks.isEmpty() || chunkEnd + blockSize > chunks.get(chunks.size() - 1).capacity()) {
+            chunks.add(ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, blockSize)));
+            chunkEnd = 0;
+        }
+        block = (long) (chunks.size() - 1) << Integer.SIZE | chunkEnd;
+        chunkEnd += blockSize;
+        return block;
+    }
+
+    private void free(long block, int sizeBits) {
+        chunks.get(chunkOf(block)).putLong(offsetOf(block), freeBlocks[sizeBits]);
+        freeBlocks[sizeBits] = block;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,384 @@
+package catbot.task;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * TaskStore that keeps Tasks on disk in fixed-size pages, instead of on the heap.
+ * Only the position of each Task in the page file is held in memory; Tasks are decoded when retrieved.
+ * <p>
+ * Pages are memory-mapped, and the store holds on to a bounded number of the most recently used pages.
+ * Java cannot unmap a page explicitly, so the mapping of a page the store lets go of is only released
+ * once its buffer is garbage collected.
+ * Replacing or removing a Task leaves its old record in the page file, unused.
+ * <p>
+ * The positions are written to an index file on {@link #flush()}. Every change in between is appended
+ * to a journal next to the index, after its record is written to the page, so no change is lost
+ * if the application does not close normally. {@link #flush()} forces both the pages and the index to disk.
+ * Removed Tasks are left out of the index file when the store is opened, so the ids of the remaining Tasks
+ * are renumbered, and the journal is folded into the index.
+ */
+public class PagedTaskStore implements TaskStore {
+
+    //region Constants
+
+    static final int PAGE_SIZE = 1 << 16;
+    private static final int MAX_MAPPED_PAGES = 256;
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES;
+    private static final String PAGES_SUFFIX = ".pages";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final long REMOVED_OFFSET = -1;
+
+    //endregion
+
+    //region Fields
+
+    private final FileChannel pageFile;
+    private final Path indexPath;
+    private final Path journalPath;
+    // the journal only applies to the index of the same generation, as ids are renumbered between generations
+    private final long generation;
+    private final HashSet<Long> dirtyPages = new HashSet<>();
+    private final LinkedHashMap<Long, MappedByteBuffer> mappedPages =
+            new LinkedHashMap<>(MAX_MAPPED_PAGES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, MappedByteBuffer> eldest) {
+                    if (size() <= MAX_MAPPED_PAGES) {
+                        return false;
+                    }
+                    if (dirtyPages.remove(eldest.getKey())) {
+                        eldest.getValue().force();
+                    }
+                    return true;
+                }
+            };
+
+    private long[] offsets;
+    private int idCount;
+    private int size;
+    private long endOffset;
+    private TaskCodec.Writer journal;
+
+    //endregion
+
+    //region Constructor
+
+    private PagedTaskStore(FileChannel pageFile, Path indexPath, long generation,
+                           long[] offsets, int size, long endOffset) {
+        this.pageFile = pageFile;
+        this.indexPath = indexPath;
+        this.journalPath = Paths.get(indexPath + JOURNAL_SUFFIX);
+        this.generation = generation;
+        this.offsets = offsets;
+        this.idCount = size;
+        this.size = size;
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Opens the PagedTaskStore at the given path, creating it if it does not exist.
+     * The store is kept in three files, using the path with different suffixes.
+     *
+     * @param path String representing relative directory of the store.
+     * @return the opened store.
+     */
+    public static PagedTaskStore open(String path) {
+        Path indexPath = Paths.get(path + INDEX_SUFFIX);
+        Path journalPath = Paths.get(indexPath + JOURNAL_SUFFIX);
+        try {
+            FileChannel pageFile = FileChannel.open(Paths.get(path + PAGES_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            PagedTaskStore stored = Files.exists(indexPath)
+                    ? readIndex(pageFile, indexPath)
+                    : new PagedTaskStore(pageFile, indexPath, 0, new long[16], 0, 0);
+            boolean hasJournal = Files.exists(journalPath);
+            if (hasJournal) {
+                stored.replayJournal();
+            }
+            if (!hasJournal && stored.size == stored.idCount) {
+                return stored;
+            }
+
+            long[] offsets = new long[Math.max(16, stored.size)];
+            int size = 0;
+            for (int i = 0; i < stored.idCount; i++) {
+                if (stored.offsets[i] != REMOVED_OFFSET) {
+                    offsets[size++] = stored.offsets[i];
+                }
+            }
+            PagedTaskStore store =
+                    new PagedTaskStore(pageFile, indexPath, stored.generation + 1, offsets, size, stored.endOffset);
+            // the journal of the previous generation is ignored once the new index is in place
+            store.writeIndex();
+            Files.deleteIfExists(journalPath);
+            return store;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //endregion
+
+    //region TaskStore
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int id) {
+        try {
+            return TaskCodec.decode(readRecord(checkId(id)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String getDescription(int id) {
+        try {
+            return TaskCodec.decodeDescription(readRecord(checkId(id)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int add(Task task) {
+        if (idCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, idCount * 2);
+        }
+        offsets[idCount] = writeRecord(task);
+        size++;
+        appendToJournal(idCount);
+        return idCount++;
+    }
+
+    @Override
+    public void set(int id, Task task) {
+        offsets[checkId(id)] = writeRecord(task);
+        appendToJournal(id);
+    }
+
+    @Override
+    public Task remove(int id) {
+        Task removed = get(id);
+        offsets[id] = REMOVED_OFFSET;
+        size--;
+        appendToJournal(id);
+        return removed;
+    }
+
+    @Override
+    public void restore(int id, Task task) {
+        offsets[id] = writeRecord(task);
+        size++;
+        appendToJournal(id);
+    }
+
+    @Override
+    public void flush() {
+        for (Long page : dirtyPages) {
+            mappedPages.get(page).force();
+        }
+        dirtyPages.clear();
+        try {
+            writeIndex();
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.deleteIfExists(journalPath);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private static PagedTaskStore readIndex(FileChannel pageFile, Path indexPath) throws IOException {
+        try (TaskCodec.Reader reader = new TaskCodec.Reader(new FileInputStream(indexPath.toFile()))) {
+            reader.readHeader();
+            long endOffset = reader.readVarLong();
+            int count = reader.readVarInt();
+            long[] offsets = new long[Math.max(16, count)];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                offsets[i] = reader.readVarLong();
+                size += offsets[i] == REMOVED_OFFSET ? 0 : 1;
+            }
+            long generation;
+            try {
+                generation = reader.readVarLong();
+            } catch (EOFException e) {
+                // indexes written before the journal was added end here
+                generation = 0;
+            }
+            PagedTaskStore store = new PagedTaskStore(pageFile, indexPath, generation, offsets, count, endOffset);
+            store.size = size;
+            return store;
+        }
+    }
+
+    /**
+     * Writes the position of every id to the index, with the ids of removed Tasks marked as removed,
+     * so that the ids in the journal still refer to the same Tasks.
+     */
+    private void writeIndex() throws IOException {
+        pageFile.force(true);
+        Path temporaryPath = Paths.get(indexPath + TEMPORARY_SUFFIX);
+        try (FileOutputStream output = new FileOutputStream(temporaryPath.toFile());
+             TaskCodec.Writer writer = new TaskCodec.Writer(output)) {
+            writer.writeHeader();
+            writer.writeVarLong(endOffset);
+            writer.writeVarInt(idCount);
+            for (int i = 0; i < idCount; i++) {
+                writer.writeVarLong(offsets[i]);
+            }
+            writer.writeVarLong(generation);
+            writer.flush();
+            output.getFD().sync();
+        }
+        Files.move(temporaryPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Applies the changes in the journal to the positions read from the index.
+     * A change that was only partly written, and every change of another generation, is ignored.
+     */
+    private void replayJournal() throws IOException {
+        try (TaskCodec.Reader reader = new TaskCodec.Reader(new FileInputStream(journalPath.toFile()))) {
+            reader.readHeader();
+            if (reader.readVarLong() != generation) {
+                return;
+            }
+            while (true) {
+                int id = reader.readVarInt();
+                long offset = reader.readVarLong();
+                long end = reader.readVarLong();
+                if (id >= offsets.length) {
+                    offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, id + 1));
+                }
+                for (; idCount <= id; idCount++) {
+                    offsets[idCount] = REMOVED_OFFSET;
+                }
+                size += (offsets[id] == REMOVED_OFFSET ? 0 : -1) + (offset == REMOVED_OFFSET ? 0 : 1);
+                offsets[id] = offset;
+                endOffset = end;
+            }
+        } catch (EOFException e) {
+            // the end of the journal, or of the last change written before the application stopped
+        }
+    }
+
+    /**
+     * Appends the position of the Task with the given id to the journal.
+     * The record has been written to its page by then, so the journal never refers to a record not yet written.
+     */
+    private void appendToJournal(int id) {
+        try {
+            if (journal == null) {
+                boolean isNewJournal = !Files.exists(journalPath) || Files.size(journalPath) == 0;
+                journal = new TaskCodec.Writer(new FileOutputStream(journalPath.toFile(), true));
+                if (isNewJournal) {
+                    journal.writeHeader();
+                    journal.writeVarLong(generation);
+                }
+            }
+            journal.writeVarInt(id);
+            journal.writeVarLong(offsets[id]);
+            journal.writeVarLong(endOffset);
+            journal.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private int checkId(int id) {
+        if (offsets[Objects.checkIndex(id, idCount)] == REMOVED_OFFSET) {
+            throw new NoSuchElementException("No task with id " + id);
+        }
+        return id;
+    }
+
+    private MappedByteBuffer getPage(long page) throws IOException {
+        MappedByteBuffer mapped = mappedPages.get(page);
+        if (mapped == null) {
+            mapped = pageFile.map(FileChannel.MapMode.READ_WRITE, page * PAGE_SIZE, PAGE_SIZE);
+            mappedPages.put(page, mapped);
+        }
+        return mapped;
+    }
+
+    /**
+     * Returns a buffer positioned at the start of the record, and limited to its end.
+     */
+    private ByteBuffer readRecord(int id) throws IOException {
+        long offset = offsets[id];
+        int start = (int) (offset % PAGE_SIZE);
+        ByteBuffer page = getPage(offset / PAGE_SIZE);
+        int length = page.getInt(start);
+        if (start + RECORD_HEADER_LENGTH + length <= PAGE_SIZE) {
+            return page.duplicate().limit(start + RECORD_HEADER_LENGTH + length)
+                    .position(start + RECORD_HEADER_LENGTH);
+        }
+        // records larger than a page are mapped by themselves, and not kept mapped
+        return pageFile.map(FileChannel.MapMode.READ_ONLY, offset + RECORD_HEADER_LENGTH, length);
+    }
+
+    /**
+     * Writes the Task after the last record, starting a new page if it would not fit in the current page.
+     *
+     * @return offset of the written record.
+     */
+    private long writeRecord(Task task) {
+        byte[] bytes = TaskCodec.encode(task);
+        int recordLength = RECORD_HEADER_LENGTH + bytes.length;
+        int start = (int) (endOffset % PAGE_SIZE);
+        if (start != 0 && start + recordLength > PAGE_SIZE) {
+            endOffset += PAGE_SIZE - start;
+            start = 0;
+        }
+
+        long offset = endOffset;
+        try {
+            if (recordLength <= PAGE_SIZE) {
+                long page = offset / PAGE_SIZE;
+                getPage(page).duplicate().position(start).putInt(bytes.length).put(bytes);
+                dirtyPages.add(page);
+            } else {
+                MappedByteBuffer region = pageFile.map(FileChannel.MapMode.READ_WRITE, offset, recordLength);
+                region.putInt(bytes.length).put(bytes);
+                region.force();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        endOffset += recordLength;
+        return offset;
+    }
+
+    //endregion
+
+}
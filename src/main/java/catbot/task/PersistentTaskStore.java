@@ -0,0 +1,137 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+import catbot.internal.PersistentVector;
+
+/**
+ * TaskStore that keeps every Task on the heap, in a {@link PersistentVector} indexed by id.
+ * Every change replaces the vector with a new one that shares most of its structure with the old one,
+ * so the Tasks held at any moment can be taken as a {@link TaskListSnapshot} in O(1), without copying.
+ * <p>
+ * The Tasks in the vector are never changed once stored: Tasks are copied on the way in and on the way out.
+ * Equal descriptions are shared by the Tasks stored, through a table of the descriptions in use that belongs
+ * to the store, so sharing them takes no lock. Reads do not use the table.
+ * <p>
+ * Ids are not reused while the store is open, so removing a Task empties its slot.
+ * The vector drops nodes whose slots are all empty, so it only grows with the Tasks still held,
+ * and the slots are renumbered from 0 when the tasks are next loaded.
+ */
+public class PersistentTaskStore implements TaskStore {
+
+    private volatile PersistentVector<Task> tasks = PersistentVector.empty();
+    private final HashMap<String, SharedDescription> descriptions = new HashMap<>();
+
+    /**
+     * Description held by Tasks in the store, with the number of Tasks holding it.
+     */
+    private static class SharedDescription {
+        private final String description;
+        private int uses = 0;
+
+        private SharedDescription(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * Constructs a PersistentTaskStore that holds copies of the Tasks in the given list.
+     *
+     * @param tasks list of Tasks to hold.
+     */
+    public PersistentTaskStore(ArrayList<Task> tasks) {
+        PersistentVector<Task> vector = PersistentVector.empty();
+        for (Task task : tasks) {
+            vector = vector.append(share(task.copy()));
+        }
+        this.tasks = vector;
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public Task get(int id) {
+        return getStored(id).copy();
+    }
+
+    @Override
+    public String getDescription(int id) {
+        return getStored(id).getDescription();
+    }
+
+    @Override
+    public int add(Task task) {
+        int id = tasks.slotCount();
+        tasks = tasks.append(share(task.copy()));
+        return id;
+    }
+
+    @Override
+    public void set(int id, Task task) {
+        Task replaced = getStored(id);
+        Task stored = share(task.copy());
+        release(replaced);
+        tasks = tasks.set(id, stored);
+    }
+
+    @Override
+    public Task remove(int id) {
+        Task removed = getStored(id);
+        tasks = tasks.set(id, null);
+        release(removed);
+        return removed.copy();
+    }
+
+    @Override
+    public void restore(int id, Task task) {
+        tasks = tasks.set(id, share(task.copy()));
+    }
+
+    @Override
+    public void flush() {
+        //kept on the heap; nothing to write
+    }
+
+    /**
+     * Returns the Tasks held at this moment, which later changes to the store do not affect.
+     * May be called from any thread.
+     *
+     * @return snapshot of the Tasks, in order of id.
+     */
+    public TaskListSnapshot snapshot() {
+        return new TaskListSnapshot(tasks);
+    }
+
+    /**
+     * Gives the Task the description equal to its own that the store already holds, if any.
+     *
+     * @param task copy of a Task, about to be stored.
+     * @return the same Task.
+     */
+    private Task share(Task task) {
+        SharedDescription shared = descriptions.computeIfAbsent(task.getDescription(), SharedDescription::new);
+        shared.uses++;
+        task.setDescription(shared.description);
+        return task;
+    }
+
+    private void release(Task task) {
+        SharedDescription shared = descriptions.get(task.getDescription());
+        if (--shared.uses == 0) {
+            descriptions.remove(task.getDescription());
+        }
+    }
+
+    private Task getStored(int id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            throw new NoSuchElementException("No task with id " + id);
+        }
+        return task;
+    }
+}
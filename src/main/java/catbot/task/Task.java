@@ -4,20 +4,25 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 import catbot.internal.NamedParameterMap;
-import catbot.io.ErrorIndicatorIo;
+import catbot.internal.ValueReader;
 
 /**
  * Abstract object representing an entry in a TaskList.
  * Intended to represent a single task that needs to be done by the user.
  */
-public abstract class Task implements Serializable {
+public abstract class Task implements Serializable, Cloneable {
 
     //region Fields
 
+    /**
+     * Fixed to the value of the versions that stored tasks with Java serialization,
+     * so that their task files can still be read, and migrated to {@link TaskCodec}.
+     */
+    private static final long serialVersionUID = -2915252060858103851L;
+
     private String description;
     private boolean isDone = false;
 
@@ -73,6 +78,19 @@ public abstract class Task implements Serializable {
      */
     public abstract void edit(NamedParameterMap map);
 
+    /**
+     * Returns a copy of the task that can be modified independently of the original.
+     *
+     * @return copy of the task.
+     */
+    public Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     //endregion
 
     //region Overrides
@@ -86,84 +104,15 @@ public abstract class Task implements Serializable {
 
     //region Internal Helpers
 
-    private static Optional<NamedParameterMap> mapIfDescriptionEmpty(NamedParameterMap map) {
-        String desc = map.get("");
-        if (desc == null || desc.isEmpty() || desc.isBlank()) {
-            NamedParameterMap newMap = new NamedParameterMap();
-            newMap.addNamedParameter("description", "");
-            return Optional.of(newMap);
-        } else {
-            return Optional.empty();
-        }
-    }
-    private static Optional<NamedParameterMap> mapIfArgumentsMissing(
-            NamedParameterMap map,
-            String... arguments
-    ) {
-        NamedParameterMap newMap = new NamedParameterMap();
-        boolean isArgumentMissing = false;
-        for (String arg : arguments) {
-            if (!map.containsKey(arg)) {
-                isArgumentMissing = true;
-                newMap.addNamedParameter(arg, "");
-            }
-        }
-        if (isArgumentMissing) {
-            return Optional.of(newMap);
-        } else {
-            return Optional.empty();
-        }
-    }
-
-    protected static class InvalidArgumentStruct {
-        protected final ErrorIndicatorIo.InvalidArgumentState state;
-        protected final NamedParameterMap parameters;
-
-        private InvalidArgumentStruct(ErrorIndicatorIo.InvalidArgumentState state, NamedParameterMap map) {
-            this.state = state;
-            this.parameters = map;
-        }
-    }
-
-    protected static Optional<InvalidArgumentStruct> invalidStateIfTaskParametersMissingOrBlank(
-            NamedParameterMap namedParameterMap, String... arguments
-    ) {
-        // parameters cannot be missing
-        Optional<NamedParameterMap> optionalNamedParameterMap =
-                Task.mapIfArgumentsMissing(namedParameterMap, arguments);
-        if (optionalNamedParameterMap.isPresent()) {
-            return Optional.of(new InvalidArgumentStruct(
-                    ErrorIndicatorIo.InvalidArgumentState.PARAMETER_MISSING,
-                    optionalNamedParameterMap.get())
-            );
-        }
-
-        // description cannot be empty
-        optionalNamedParameterMap = Task.mapIfDescriptionEmpty(namedParameterMap);
-        //noinspection OptionalIsPresent for readability, to distinguish default return value
-        if (optionalNamedParameterMap.isPresent()) {
-            return Optional.of(new InvalidArgumentStruct(
-                    ErrorIndicatorIo.InvalidArgumentState.PARAMETER_EMPTY,
-                    optionalNamedParameterMap.get())
-            );
-        }
-
-        // if all ok
-        return Optional.empty();
-    }
-
     protected static Optional<LocalDate> parseOptionalDateElseMap(
             NamedParameterMap map, NamedParameterMap elseMap, String arg
     ) {
         String val = map.get(arg);
-        try {
-            return Optional.of(LocalDate.parse(val));
-        } catch (DateTimeParseException ignored) {
-            if (elseMap != null) {
-                elseMap.addNamedParameter(arg, val);
-            }
-            return Optional.empty();
+        LocalDate date = ValueReader.readIntEpochDayDate(val);
+        if (date == null && elseMap != null) {
+            elseMap.addNamedParameter(arg, val);
         }
+        return Optional.ofNullable(date);
     }
 
     protected static String formatDate(LocalDate date) {
@@ -0,0 +1,515 @@
+package catbot.task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * Compact binary format for Tasks, used in place of Java serialization.
+ * <p>
+ * Files start with a header of {@link #MAGIC} followed by the schema {@link #VERSION}.
+ * Each Task is written as a tag byte holding its type and done bit, a varint-length UTF-8 description,
+ * and one epoch-day int per date.
+ * <p>
+ * Lists of Tasks are written with a dictionary of their distinct descriptions first, sorted and front-coded,
+ * so that each Task only refers to its description by its number in the dictionary.
+ * Files of version 1, which wrote every description in full, can still be read.
+ */
+public abstract class TaskCodec {
+
+    //region Constants
+
+    /**
+     * Marks the start of a file written in this format; reads as "CATB".
+     */
+    public static final int MAGIC = 0x43415442;
+
+    /**
+     * Version of the format written by this codec.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Number of bytes taken by the header.
+     */
+    public static final int HEADER_LENGTH = 5;
+
+    private static final int LEGACY_MAGIC = 0xACED;
+    private static final int FIRST_DICTIONARY_VERSION = 2;
+    private static final int TODO_TAG = 0;
+    private static final int DEADLINE_TAG = 1;
+    private static final int EVENT_TAG = 2;
+    private static final int TYPE_MASK = 0x7F;
+    private static final int DONE_BIT = 0x80;
+
+    //endregion
+
+    //region Legacy
+
+    /**
+     * Checks if the stream starts with Java serialization, as used by versions before this codec.
+     * The stream is left at its original position.
+     *
+     * @param input stream to check, which must support {@link InputStream#mark mark}.
+     * @return true if the stream holds Java serialized objects.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static boolean isLegacyFormat(InputStream input) throws IOException {
+        assert input.markSupported();
+        input.mark(2);
+        int first = input.read();
+        int second = input.read();
+        input.reset();
+        return (first << 8 | second) == LEGACY_MAGIC;
+    }
+
+    /**
+     * Reads the ArrayList of Tasks that was stored using Java serialization.
+     * Older stores may precede the list with a Long holding the number of the last journal record.
+     *
+     * @param input stream holding Java serialized objects.
+     * @return the Tasks read.
+     * @throws IOException if the stream does not hold a readable list of Tasks.
+     */
+    public static ArrayList<Task> readLegacy(InputStream input) throws IOException {
+        try {
+            ObjectInputStream objectInput = new ObjectInputStream(input);
+            Object readObject = objectInput.readObject();
+            if (readObject instanceof Long) {
+                readObject = objectInput.readObject();
+            }
+            @SuppressWarnings("unchecked")
+            ArrayList<Task> tasks = (ArrayList<Task>) readObject;
+            return tasks;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+
+    //endregion
+
+    //region Single Task
+
+    /**
+     * Encodes a single Task, without a header.
+     *
+     * @param task Task to encode.
+     * @return bytes of the encoded Task.
+     */
+    public static byte[] encode(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new Writer(bytes)) {
+            writer.writeTask(task);
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a single Task written by {@link #encode}, from the position of the buffer onwards.
+     *
+     * @param buffer buffer holding the encoded Task; its position is moved past the Task.
+     * @return the Task decoded.
+     * @throws IOException if the Task is malformed.
+     */
+    public static Task decode(ByteBuffer buffer) throws IOException {
+        try {
+            int tag = buffer.get() & 0xFF;
+            String description = decodeString(buffer);
+            int type = tag & TYPE_MASK;
+            LocalDate first = type == DEADLINE_TAG || type == EVENT_TAG ? LocalDate.ofEpochDay(buffer.getInt()) : null;
+            LocalDate second = type == EVENT_TAG ? LocalDate.ofEpochDay(buffer.getInt()) : null;
+            return newTask(tag, description, first, second);
+        } catch (BufferUnderflowException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Decodes only the description of a Task written by {@link #encode}, skipping everything else.
+     *
+     * @param buffer buffer holding the encoded Task; its position is moved past the description.
+     * @return the description of the Task.
+     * @throws IOException if the Task is malformed.
+     */
+    public static String decodeDescription(ByteBuffer buffer) throws IOException {
+        try {
+            buffer.get();
+            return decodeString(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String decodeString(ByteBuffer buffer) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift >= 32) {
+                throw new IOException("Malformed varint");
+            }
+            int b = buffer.get() & 0xFF;
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Description longer than the Task");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Task newTask(int tag, String description, LocalDate first, LocalDate second)
+            throws IOException {
+        Task task;
+        switch (tag & TYPE_MASK) {
+        case TODO_TAG:
+            task = new Todo(description);
+            break;
+        case DEADLINE_TAG:
+            task = new Deadline(description, first);
+            break;
+        case EVENT_TAG:
+            task = new Event(description, first, second);
+            break;
+        default:
+            throw new IOException("Unknown task type " + (tag & TYPE_MASK));
+        }
+        if ((tag & DONE_BIT) != 0) {
+            task.setDone();
+        }
+        return task;
+    }
+
+    //endregion
+
+    //region Writer
+
+    /**
+     * Streaming writer for the binary format.
+     */
+    public static class Writer implements Closeable {
+
+        private final DataOutputStream output;
+
+        /**
+         * Constructs a Writer that writes to the given stream, buffering output until flushed.
+         *
+         * @param outputStream stream to write to.
+         */
+        public Writer(OutputStream outputStream) {
+            this.output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        }
+
+        /**
+         * Writes the file header. Expected once, at the start of a file.
+         *
+         * @throws IOException if writing fails.
+         */
+        public void writeHeader() throws IOException {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+        }
+
+        /**
+         * Writes a non-negative int, using fewer bytes for smaller values.
+         *
+         * @param value int to write.
+         * @throws IOException if writing fails.
+         */
+        public void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Writes a non-negative long, using fewer bytes for smaller values.
+         *
+         * @param value long to write.
+         * @throws IOException if writing fails.
+         */
+        public void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                output.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.writeByte((int) value);
+        }
+
+        /**
+         * Writes a single Task.
+         *
+         * @param task Task to write.
+         * @throws IOException if writing fails.
+         */
+        public void writeTask(Task task) throws IOException {
+            writeTag(task);
+            writeBytes(task.getDescription().getBytes(StandardCharsets.UTF_8));
+            writeDates(task);
+        }
+
+        /**
+         * Writes an ArrayList of Tasks, preceded by its size, and a dictionary of the descriptions of the Tasks.
+         * Each distinct description is written once, sharing its start with the description before it.
+         *
+         * @param tasks Tasks to write.
+         * @throws IOException if writing fails.
+         */
+        public void writeTasks(ArrayList<Task> tasks) throws IOException {
+            writeVarInt(tasks.size());
+
+            TreeSet<String> sortedDescriptions = new TreeSet<>();
+            for (Task task : tasks) {
+                sortedDescriptions.add(task.getDescription());
+            }
+            writeVarInt(sortedDescriptions.size());
+            HashMap<String, Integer> dictionary = new HashMap<>();
+            byte[] previous = new byte[0];
+            for (String description : sortedDescriptions) {
+                byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+                int shared = 0;
+                while (shared < previous.length && shared < bytes.length && previous[shared] == bytes[shared]) {
+                    shared++;
+                }
+                writeVarInt(shared);
+                writeVarInt(bytes.length - shared);
+                output.write(bytes, shared, bytes.length - shared);
+                dictionary.put(description, dictionary.size());
+                previous = bytes;
+            }
+
+            for (Task task : tasks) {
+                writeTag(task);
+                writeVarInt(dictionary.get(task.getDescription()));
+                writeDates(task);
+            }
+        }
+
+        /**
+         * Writes out any buffered bytes.
+         *
+         * @throws IOException if writing fails.
+         */
+        public void flush() throws IOException {
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+
+        private void writeTag(Task task) throws IOException {
+            int tag;
+            if (task instanceof Deadline) {
+                tag = DEADLINE_TAG;
+            } else if (task instanceof Event) {
+                tag = EVENT_TAG;
+            } else {
+                tag = TODO_TAG;
+            }
+            output.writeByte(tag | (task.isDone() ? DONE_BIT : 0));
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private void writeDates(Task task) throws IOException {
+            if (task instanceof Deadline) {
+                writeDate(((Deadline) task).getDueDate());
+            } else if (task instanceof Event) {
+                writeDate(((Event) task).getEventStart());
+                writeDate(((Event) task).getEventEnd());
+            }
+        }
+
+        private void writeDate(LocalDate date) throws IOException {
+            output.writeInt(Math.toIntExact(date.toEpochDay()));
+        }
+    }
+
+    //endregion
+
+    //region Reader
+
+    /**
+     * Streaming reader for the binary format.
+     */
+    public static class Reader implements Closeable {
+
+        private final DataInputStream input;
+        private int version = VERSION;
+
+        /**
+         * Constructs a Reader that reads from the given stream.
+         *
+         * @param inputStream stream to read from.
+         */
+        public Reader(InputStream inputStream) {
+            this.input = new DataInputStream(
+                    inputStream instanceof BufferedInputStream || inputStream instanceof ByteArrayInputStream
+                            ? inputStream
+                            : new BufferedInputStream(inputStream));
+        }
+
+        /**
+         * Reads and checks the file header. The rest of the file is read according to its version.
+         *
+         * @throws IOException if the header is missing, or was written by an unsupported version.
+         */
+        public void readHeader() throws IOException {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a CatBot task file");
+            }
+            int fileVersion = input.readUnsignedByte();
+            if (fileVersion < 1 || fileVersion > VERSION) {
+                throw new IOException("Unsupported task file version " + fileVersion);
+            }
+            version = fileVersion;
+        }
+
+        /**
+         * Reads an int written by {@link Writer#writeVarInt}.
+         *
+         * @return the int read.
+         * @throws IOException if reading fails.
+         */
+        public int readVarInt() throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Varint out of range");
+            }
+            return (int) value;
+        }
+
+        /**
+         * Reads a long written by {@link Writer#writeVarLong}.
+         *
+         * @return the long read.
+         * @throws IOException if reading fails.
+         */
+        public long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = input.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        /**
+         * Reads a single Task.
+         *
+         * @return the Task read.
+         * @throws IOException if reading fails, or the Task is malformed.
+         */
+        public Task readTask() throws IOException {
+            int tag = input.readUnsignedByte();
+            byte[] description = readBytes(readVarInt());
+            return readDates(tag, new String(description, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Reads an ArrayList of Tasks written by {@link Writer#writeTasks}.
+         *
+         * @return the Tasks read.
+         * @throws IOException if reading fails.
+         */
+        public ArrayList<Task> readTasks() throws IOException {
+            int size = readVarInt();
+            // capacity is capped, so that a corrupted size cannot exhaust memory before the Tasks run out
+            ArrayList<Task> tasks = new ArrayList<>(Math.min(size, 1 << 16));
+            if (version < FIRST_DICTIONARY_VERSION) {
+                for (int i = 0; i < size; i++) {
+                    tasks.add(readTask());
+                }
+                return tasks;
+            }
+
+            int dictionarySize = readVarInt();
+            ArrayList<String> dictionary = new ArrayList<>(Math.min(dictionarySize, 1 << 16));
+            byte[] previous = new byte[0];
+            for (int i = 0; i < dictionarySize; i++) {
+                int shared = readVarInt();
+                int suffixLength = readVarInt();
+                if (shared > previous.length) {
+                    throw new IOException("Description shares more than the one before it");
+                }
+                if (suffixLength > Integer.MAX_VALUE - shared) {
+                    throw new IOException("Description longer than an array can hold");
+                }
+                byte[] suffix = readBytes(suffixLength);
+                byte[] bytes = Arrays.copyOf(previous, shared + suffixLength);
+                System.arraycopy(suffix, 0, bytes, shared, suffixLength);
+                dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+                previous = bytes;
+            }
+
+            for (int i = 0; i < size; i++) {
+                int tag = input.readUnsignedByte();
+                int descriptionId = readVarInt();
+                if (descriptionId >= dictionary.size()) {
+                    throw new IOException("Description " + descriptionId + " is not in the dictionary");
+                }
+                tasks.add(readDates(tag, dictionary.get(descriptionId)));
+            }
+            return tasks;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+
+        /**
+         * Reads the given number of bytes. The bytes are read in chunks, so a corrupted length fails
+         * once the input runs out, rather than allocating the whole length up front.
+         */
+        private byte[] readBytes(int length) throws IOException {
+            byte[] bytes = input.readNBytes(length);
+            if (bytes.length < length) {
+                throw new EOFException("Expected " + length + " bytes, but only " + bytes.length + " are left");
+            }
+            return bytes;
+        }
+
+        private Task readDates(int tag, String description) throws IOException {
+            int type = tag & TYPE_MASK;
+            LocalDate first = type == DEADLINE_TAG || type == EVENT_TAG ? readDate() : null;
+            LocalDate second = type == EVENT_TAG ? readDate() : null;
+            return newTask(tag, description, first, second);
+        }
+
+        private LocalDate readDate() throws IOException {
+            return LocalDate.ofEpochDay(input.readInt());
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,120 @@
+package catbot.task;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Immutable set of conditions on the type and done state of Tasks.
+ * Conditions that are not set match every Task.
+ */
+public class TaskFilter {
+
+    //region Constants
+
+    /**
+     * Filter without conditions, that matches every Task.
+     */
+    public static final TaskFilter ALL = new TaskFilter(null, null);
+
+    //endregion
+
+    //region Fields
+
+    private final Type type;
+    private final Boolean isDone;
+
+    //endregion
+
+    //region Nested Types
+
+    /**
+     * Type of a Task.
+     */
+    public enum Type {
+        TODO, DEADLINE, EVENT;
+
+        /**
+         * Retrieves the type of the given Task.
+         *
+         * @param task Task to get the type of.
+         * @return the type.
+         */
+        public static Type of(Task task) {
+            if (task instanceof Deadline) {
+                return DEADLINE;
+            } else if (task instanceof Event) {
+                return EVENT;
+            } else {
+                return TODO;
+            }
+        }
+
+        /**
+         * Optionally retrieves the type with the given name, ignoring case.
+         *
+         * @param name name of the type, such as "deadline".
+         * @return the type, or empty if no type has the name.
+         */
+        public static Optional<Type> parse(String name) {
+            for (Type type : values()) {
+                if (type.name().equals(name.trim().toUpperCase(Locale.ROOT))) {
+                    return Optional.of(type);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    //endregion
+
+    //region Constructor
+
+    private TaskFilter(Type type, Boolean isDone) {
+        this.type = type;
+        this.isDone = isDone;
+    }
+
+    //endregion
+
+    //region Getter/setter
+
+    /**
+     * Returns a filter with the same conditions, that also only matches Tasks of the given type.
+     *
+     * @param type type that matching Tasks must have.
+     * @return the new filter.
+     */
+    public TaskFilter withType(Type type) {
+        return new TaskFilter(type, isDone);
+    }
+
+    /**
+     * Returns a filter with the same conditions, that also only matches Tasks with the given done state.
+     *
+     * @param isDone true to only match Tasks that are done, false to only match Tasks that are not.
+     * @return the new filter.
+     */
+    public TaskFilter withDone(boolean isDone) {
+        return new TaskFilter(type, isDone);
+    }
+
+    /**
+     * Checks if the filter has no conditions.
+     *
+     * @return true if every Task matches, false otherwise.
+     */
+    public boolean isAll() {
+        return type == null && isDone == null;
+    }
+
+    Optional<Type> getType() {
+        return Optional.ofNullable(type);
+    }
+
+    Optional<Boolean> getDone() {
+        return Optional.ofNullable(isDone);
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,34 @@
+package catbot.task;
+
+/**
+ * Index over the Tasks of a {@link TaskList}, kept up to date as the list changes.
+ * Tasks are identified by their id in the {@link TaskStore}, which does not change as other Tasks are removed.
+ */
+interface TaskIndex {
+
+    /**
+     * Called after a Task is added to the end of the list.
+     *
+     * @param id   id of the added Task.
+     * @param task the added Task.
+     */
+    void added(int id, Task task);
+
+    /**
+     * Called after a Task is modified.
+     *
+     * @param id     id of the modified Task.
+     * @param before copy of the Task from before the modification.
+     * @param after  the modified Task.
+     */
+    void changed(int id, Task before, Task after);
+
+    /**
+     * Called after a Task is removed.
+     *
+     * @param id   id of the removed Task.
+     * @param task the removed Task.
+     */
+    void removed(int id, Task task);
+
+}
@@ -0,0 +1,379 @@
+package catbot.task;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import catbot.internal.JournalStorage;
+
+/**
+ * Stores an ArrayList of Tasks as a snapshot, followed by a journal with one record per change.
+ * Each change only appends a record to the journal, instead of rewriting every Task.
+ * Once the journal grows as large as the snapshot, it is compacted into a new snapshot in the background.
+ * <p>
+ * Every record is numbered, and the snapshot remembers the number of the last record it contains,
+ * so records that were already compacted are skipped when replaying.
+ * Compaction only reads the files, so it never sees the Tasks that are being modified by the caller.
+ * <p>
+ * Both files are written with {@link TaskCodec}. A snapshot written with Java serialization by older versions
+ * is read once, and immediately rewritten in the binary format.
+ * A snapshot that exists but cannot be read is never replaced, so reading it fails instead of returning the default.
+ */
+public class TaskJournalStorage implements JournalStorage<ArrayList<Task>, TaskMutation> {
+
+    //region Constants
+
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 1024;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String OLD_JOURNAL_SUFFIX = ".journal.old";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    //endregion
+
+    //region Fields
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path oldJournalPath;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catbot-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Supplier<ArrayList<Task>> supplier;
+    private FileOutputStream journalFile;
+    private TaskCodec.Writer journal;
+    private long nextSequenceNumber = 1;
+    private int recordsSinceSnapshot = 0;
+    private int size = 0;
+    private Future<?> compaction;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a TaskJournalStorage with a path to read from and write to.
+     * The journal is kept next to the snapshot, using the same path with a suffix.
+     *
+     * @param path String representing relative directory of the snapshot.
+     */
+    public TaskJournalStorage(String path) {
+        this.snapshotPath = Paths.get(path);
+        this.journalPath = Paths.get(path + JOURNAL_SUFFIX);
+        this.oldJournalPath = Paths.get(path + OLD_JOURNAL_SUFFIX);
+    }
+
+    //endregion
+
+    //region JournalStorage
+
+    @Override
+    public void write(ArrayList<Task> taskArrayList) {
+        waitForCompaction();
+        try {
+            closeJournal();
+            writeSnapshot(snapshotPath, new Snapshot(nextSequenceNumber - 1, taskArrayList));
+            Files.deleteIfExists(oldJournalPath);
+            Files.deleteIfExists(journalPath);
+            recordsSinceSnapshot = 0;
+            size = taskArrayList.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> readOrDefault() {
+        waitForCompaction();
+        // the old journal is read before the snapshot, as a compaction may delete it once the snapshot is replaced
+        byte[] oldJournal = readIfExists(oldJournalPath);
+        boolean isMigrationNeeded = false;
+        Snapshot snapshot;
+        if (isMissingOrEmpty(snapshotPath)) {
+            if (supplier == null) {
+                return null;
+            }
+            snapshot = new Snapshot(0, supplier.get());
+        } else {
+            try (BufferedInputStream input = new BufferedInputStream(new FileInputStream(snapshotPath.toFile()))) {
+                isMigrationNeeded = TaskCodec.isLegacyFormat(input);
+                snapshot = isMigrationNeeded
+                        ? new Snapshot(0, TaskCodec.readLegacy(input))
+                        : readSnapshot(input);
+            } catch (IOException e) {
+                // the file is left as it is, instead of being replaced by an empty list on the next write
+                throw new RuntimeException("Could not read the tasks stored in " + snapshotPath, e);
+            }
+        }
+
+        // a record that was only partially written is cut off, so that records appended later can be replayed
+        truncate(oldJournalPath, oldJournal.length, replay(oldJournal, snapshot));
+        byte[] journalBytes = readIfExists(journalPath);
+        truncate(journalPath, journalBytes.length, replay(journalBytes, snapshot));
+        recordsSinceSnapshot = snapshot.replayedRecords;
+        nextSequenceNumber = snapshot.lastSequenceNumber + 1;
+        size = snapshot.tasks.size();
+        if (isMigrationNeeded) {
+            write(snapshot.tasks);
+        }
+        return snapshot.tasks;
+    }
+
+    @Override
+    public void setDefault(Supplier<ArrayList<Task>> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void append(TaskMutation record) {
+        appendAll(List.of(record));
+    }
+
+    @Override
+    public void appendAll(List<TaskMutation> records) {
+        try {
+            if (journal == null) {
+                boolean isNewJournal = !Files.exists(journalPath) || Files.size(journalPath) == 0;
+                journalFile = new FileOutputStream(journalPath.toFile(), true);
+                journal = new TaskCodec.Writer(journalFile);
+                if (isNewJournal) {
+                    journal.writeHeader();
+                }
+            }
+            for (TaskMutation record : records) {
+                writeRecord(journal, nextSequenceNumber++, record);
+                size += record.getKind() == TaskMutation.Kind.ADDED ? 1 : 0;
+                size -= record.getKind() == TaskMutation.Kind.REMOVED ? 1 : 0;
+            }
+            journal.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        recordsSinceSnapshot += records.size();
+        compactIfDue();
+    }
+
+    @Override
+    public void flush() {
+        waitForCompaction();
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.flush();
+            journalFile.getFD().sync();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    /**
+     * Contents of a snapshot, along with the number of the last journal record it contains,
+     * and the number of journal records replayed onto it since it was read.
+     */
+    private static class Snapshot {
+        private long lastSequenceNumber;
+        private int replayedRecords = 0;
+        private final ArrayList<Task> tasks;
+
+        private Snapshot(long lastSequenceNumber, ArrayList<Task> tasks) {
+            this.lastSequenceNumber = lastSequenceNumber;
+            this.tasks = tasks;
+        }
+    }
+
+    private void compactIfDue() {
+        if (isCompacting() || recordsSinceSnapshot < Math.max(MIN_RECORDS_BEFORE_COMPACTION, size)) {
+            return;
+        }
+
+        try {
+            closeJournal();
+            // an old journal left behind by a failed compaction is compacted along with the current one
+            if (Files.exists(oldJournalPath)) {
+                byte[] currentJournal = Files.readAllBytes(journalPath);
+                try (FileOutputStream output = new FileOutputStream(oldJournalPath.toFile(), true)) {
+                    output.write(currentJournal, TaskCodec.HEADER_LENGTH,
+                            currentJournal.length - TaskCodec.HEADER_LENGTH);
+                }
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, oldJournalPath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        recordsSinceSnapshot = 0;
+
+        compaction = compactor.submit(() -> {
+            try {
+                Snapshot snapshot = new Snapshot(0, new ArrayList<>());
+                if (!isMissingOrEmpty(snapshotPath)) {
+                    try (BufferedInputStream input = new BufferedInputStream(
+                            new FileInputStream(snapshotPath.toFile()))) {
+                        snapshot = readSnapshot(input);
+                    }
+                }
+                replay(Files.readAllBytes(oldJournalPath), snapshot);
+                writeSnapshot(snapshotPath, snapshot);
+                Files.deleteIfExists(oldJournalPath);
+            } catch (IOException ignored) {
+                // the old journal is kept, and replayed on the next read instead
+            }
+        });
+    }
+
+    private boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    private void waitForCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Snapshot readSnapshot(BufferedInputStream input) throws IOException {
+        TaskCodec.Reader reader = new TaskCodec.Reader(input);
+        reader.readHeader();
+        long lastSequenceNumber = reader.readVarLong();
+        return new Snapshot(lastSequenceNumber, reader.readTasks());
+    }
+
+    private static void writeSnapshot(Path path, Snapshot snapshot) throws IOException {
+        Path temporaryPath = Paths.get(path + TEMPORARY_SUFFIX);
+        try (TaskCodec.Writer writer = new TaskCodec.Writer(new FileOutputStream(temporaryPath.toFile()))) {
+            writer.writeHeader();
+            writer.writeVarLong(snapshot.lastSequenceNumber);
+            writer.writeTasks(snapshot.tasks);
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+            journalFile = null;
+        }
+    }
+
+    private static boolean isMissingOrEmpty(Path path) {
+        return path.toFile().length() == 0;
+    }
+
+    private static byte[] readIfExists(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException ignored) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Applies the records of a journal that come after the snapshot, stopping at the first unusable record.
+     *
+     * @return number of bytes taken by the header and the usable records, which is 0 if the header is incomplete.
+     */
+    private static int replay(byte[] journalBytes, Snapshot snapshot) {
+        if (journalBytes.length == 0) {
+            return 0;
+        }
+        ByteArrayInputStream input = new ByteArrayInputStream(journalBytes);
+        int usableLength = 0;
+        try (TaskCodec.Reader reader = new TaskCodec.Reader(input)) {
+            try {
+                reader.readHeader();
+            } catch (EOFException ignored) {
+                // the header was only partially written, so there are no records
+                return 0;
+            } catch (IOException e) {
+                // possibly written by another version, so it is neither replayed nor cut off
+                throw new RuntimeException("Could not read the header of the journal", e);
+            }
+            usableLength = journalBytes.length - input.available();
+            while (true) {
+                long sequenceNumber = reader.readVarLong();
+                TaskMutation record = readRecord(reader);
+                if (sequenceNumber > snapshot.lastSequenceNumber) {
+                    if (!record.applyTo(snapshot.tasks)) {
+                        return usableLength;
+                    }
+                    snapshot.lastSequenceNumber = sequenceNumber;
+                    snapshot.replayedRecords++;
+                }
+                usableLength = journalBytes.length - input.available();
+            }
+        } catch (EOFException ignored) {
+            // end of journal, or a record that was only partially written
+        } catch (IOException ignored) {
+            // records after a corrupted record cannot be trusted
+        }
+        return usableLength;
+    }
+
+    private static void truncate(Path path, int length, int usableLength) {
+        if (usableLength == length) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(usableLength);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeRecord(TaskCodec.Writer writer, long sequenceNumber, TaskMutation record)
+            throws IOException {
+        writer.writeVarLong(sequenceNumber);
+        writer.writeVarInt(record.getKind().ordinal());
+        writer.writeVarInt(record.getIndex());
+        if (record.getTask() != null) {
+            writer.writeTask(record.getTask());
+        }
+    }
+
+    private static TaskMutation readRecord(TaskCodec.Reader reader) throws IOException {
+        int ordinal = reader.readVarInt();
+        if (ordinal >= TaskMutation.Kind.values().length) {
+            throw new IOException("Unknown record kind " + ordinal);
+        }
+        TaskMutation.Kind kind = TaskMutation.Kind.values()[ordinal];
+        int index = reader.readVarInt();
+        Task task = kind == TaskMutation.Kind.REMOVED ? null : reader.readTask();
+        return new TaskMutation(kind, index, task);
+    }
+
+    //endregion
+
+}
@@ -1,19 +1,67 @@
 package catbot.task;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import catbot.internal.Bounds;
+import catbot.internal.JournalStorage;
 import catbot.internal.NamedParameterMap;
+import catbot.internal.PersistentVector;
+import catbot.internal.RankedIdSet;
+import catbot.internal.SortedIntList;
+import catbot.internal.WriteBehindStorage;
 
 /**
  * Object to manage a list of Tasks.
+ * Besides its position in the list, every task has an id that stays the same while the task is in the list,
+ * even as tasks before it are removed. Tasks are found by position or by id in O(log n).
+ * <p>
+ * Readers on other threads take a {@link #snapshot()} of the list instead of reading it directly.
+ * <p>
+ * Changes made between {@link #beginTransaction()} and {@link #commitTransaction()} reach storage together,
+ * and may instead be undone together with {@link #rollbackTransaction()}.
+ * A store that writes each change to disk itself, as it is made, leaves no writes to group,
+ * so such lists support neither transactions nor {@link #deferWrites(int) deferred writes}.
  */
 public class TaskList {
 
-    private ArrayList<Task> tasks;
-    private final TaskArrayListStorage storage;
+    private static final long MAX_WRITE_DELAY_MILLIS = 50;
+    private static final int MAX_PENDING_WRITES = 256;
+
+    private final TaskStore tasks;
+    private final RankedIdSet ids = new RankedIdSet();
+    private final JournalStorage<ArrayList<Task>, TaskMutation> storage;
+    private final ArrayList<TaskIndex> indexes = new ArrayList<>();
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private DateIndex dateIndex;
+    private FilterIndex filterIndex;
+    private UrgencyIndex urgencyIndex;
+    private ArrayList<TaskMutation> deferredMutations;
+    private int maxDeferredMutations;
+    private ArrayList<TaskMutation> transactionMutations;
+    private ArrayList<UndoRecord> undoRecords;
+
+    /**
+     * Change made during a transaction, along with what is needed to undo it.
+     * Tasks are referred to by id, as their indexes shift while later changes are undone.
+     */
+    private static class UndoRecord {
+        private final TaskMutation.Kind kind;
+        private final int id;
+        private final Task before;
+
+        private UndoRecord(TaskMutation.Kind kind, int id, Task before) {
+            this.kind = kind;
+            this.id = id;
+            this.before = before;
+        }
+    }
 
     /**
      * Constructs a TaskList with a path to read and write from, for storage.
@@ -21,14 +69,39 @@ public class TaskList {
      * @param path relative directory to read from and write to.
      */
     public TaskList(String path) {
+        this(path, PersistentTaskStore::new);
+    }
+
+    /**
+     * Constructs a TaskList with a path to read and write from, for storage,
+     * that keeps the tasks read in a store of the caller's choice.
+     *
+     * @param path         relative directory to read from and write to.
+     * @param storeFactory function that creates the store to keep the tasks in, from the tasks read.
+     */
+    public TaskList(String path, Function<ArrayList<Task>, TaskStore> storeFactory) {
         if (path != null) {
-            this.storage = new TaskArrayListStorage(path);
+            this.storage = new WriteBehindStorage<>(
+                    new TaskJournalStorage(path), MAX_WRITE_DELAY_MILLIS, MAX_PENDING_WRITES);
             this.storage.setDefault(() -> new ArrayList<>());
-            this.tasks = storage.readOrDefault();
+            this.tasks = storeFactory.apply(storage.readOrDefault());
         } else {
             this.storage = null;
-            this.tasks = new ArrayList<>();
+            this.tasks = storeFactory.apply(new ArrayList<>());
         }
+        addStoredIds();
+    }
+
+    /**
+     * Constructs a TaskList that keeps its tasks in the given store.
+     * The store is responsible for writing the tasks to disk, if it should.
+     *
+     * @param store store holding the tasks of the list.
+     */
+    public TaskList(TaskStore store) {
+        this.storage = null;
+        this.tasks = store;
+        addStoredIds();
     }
 
     /**
@@ -37,8 +110,12 @@ public class TaskList {
      * @param task task to add to the list.
      */
     public void addTask(Task task) {
-        tasks.add(task);
-        update();
+        int id = tasks.add(task);
+        ids.add(id);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.added(id, task);
+        }
+        update(TaskMutation.added(ids.size() - 1, task), new UndoRecord(TaskMutation.Kind.ADDED, id, null));
     }
 
     /**
@@ -48,8 +125,13 @@ public class TaskList {
      * @return the removed task.
      */
     public Task removeTask(int index) {
-        Task removed = tasks.remove(index);
-        update();
+        int id = ids.select(index);
+        Task removed = tasks.remove(id);
+        ids.remove(id);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.removed(id, removed);
+        }
+        update(TaskMutation.removed(index), new UndoRecord(TaskMutation.Kind.REMOVED, id, removed));
         return removed;
     }
 
@@ -77,7 +159,7 @@ public class TaskList {
      * @return Bounds object for relevant indexes.
      */
     public Bounds getIndexBounds() {
-        return new Bounds(1, tasks.size());
+        return new Bounds(1, ids.size());
     }
 
     /**
@@ -86,8 +168,12 @@ public class TaskList {
      * @param index index of the task to mark as done.
      */
     public void markTask(int index) {
-        tasks.get(index).setDone();
-        update();
+        int id = ids.select(index);
+        Task task = tasks.get(id);
+        Task before = task.copy();
+        task.setDone();
+        tasks.set(id, task);
+        changed(index, id, before, task);
     }
 
     /**
@@ -97,8 +183,12 @@ public class TaskList {
      */
     @SuppressWarnings("SpellCheckingInspection")
     public void unmarkTask(int index) {
-        tasks.get(index).setUndone();
-        update();
+        int id = ids.select(index);
+        Task task = tasks.get(id);
+        Task before = task.copy();
+        task.setUndone();
+        tasks.set(id, task);
+        changed(index, id, before, task);
     }
 
     /**
@@ -109,8 +199,81 @@ public class TaskList {
      *              valid parameters result in their arguments replacing previous values in the task.
      */
     public void editTask(int index, NamedParameterMap map) {
-        tasks.get(index).edit(map);
-        update();
+        int id = ids.select(index);
+        Task task = tasks.get(id);
+        Task before = task.copy();
+        task.edit(map);
+        tasks.set(id, task);
+        changed(index, id, before, task);
+    }
+
+    /**
+     * Checks if the provided integer is a valid index starting from 1, and if so, marks that task as done,
+     * then passes its index starting from 0 to the first consumer.
+     * Otherwise, passes the original integer to the second consumer.
+     * Lists shared between threads check the index and mark the task as a single step.
+     *
+     * @param integer   integer to check if is valid index based on {@link Bounds Bounds}
+     * @param ifMarked  consumer to accept (integer - 1) once the task is marked
+     * @param otherwise consumer to accept (integer) if it is not a valid index
+     */
+    public void markTaskIfValidElse(int integer, Consumer<Integer> ifMarked, Consumer<Integer> otherwise) {
+        ifValidIndexElse(integer, index -> {
+            markTask(index);
+            ifMarked.accept(index);
+        }, otherwise);
+    }
+
+    /**
+     * Checks if the provided integer is a valid index starting from 1, and if so, marks that task as undone,
+     * then passes its index starting from 0 to the first consumer.
+     * Otherwise, passes the original integer to the second consumer.
+     * Lists shared between threads check the index and mark the task as a single step.
+     *
+     * @param integer    integer to check if is valid index based on {@link Bounds Bounds}
+     * @param ifUnmarked consumer to accept (integer - 1) once the task is marked as undone
+     * @param otherwise  consumer to accept (integer) if it is not a valid index
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public void unmarkTaskIfValidElse(int integer, Consumer<Integer> ifUnmarked, Consumer<Integer> otherwise) {
+        ifValidIndexElse(integer, index -> {
+            unmarkTask(index);
+            ifUnmarked.accept(index);
+        }, otherwise);
+    }
+
+    /**
+     * Checks if the provided integer is a valid index starting from 1, and if so, edits that task,
+     * then passes its index starting from 0 to the first consumer.
+     * Otherwise, passes the original integer to the second consumer.
+     * Lists shared between threads check the index and edit the task as a single step.
+     *
+     * @param integer   integer to check if is valid index based on {@link Bounds Bounds}
+     * @param map       map that contains new values for parameters.
+     * @param ifEdited  consumer to accept (integer - 1) once the task is edited
+     * @param otherwise consumer to accept (integer) if it is not a valid index
+     * @see #editTask(int, NamedParameterMap)
+     */
+    public void editTaskIfValidElse(int integer, NamedParameterMap map,
+                                    Consumer<Integer> ifEdited, Consumer<Integer> otherwise) {
+        ifValidIndexElse(integer, index -> {
+            editTask(index, map);
+            ifEdited.accept(index);
+        }, otherwise);
+    }
+
+    /**
+     * Checks if the provided integer is a valid index starting from 1, and if so, removes that task,
+     * then passes the removed task to the first consumer.
+     * Otherwise, passes the original integer to the second consumer.
+     * Lists shared between threads check the index and remove the task as a single step.
+     *
+     * @param integer   integer to check if is valid index based on {@link Bounds Bounds}
+     * @param ifRemoved consumer to accept the removed task
+     * @param otherwise consumer to accept (integer) if it is not a valid index
+     */
+    public void removeTaskIfValidElse(int integer, Consumer<Task> ifRemoved, Consumer<Integer> otherwise) {
+        ifValidIndexElse(integer, index -> ifRemoved.accept(removeTask(index)), otherwise);
     }
 
     /**
@@ -119,7 +282,7 @@ public class TaskList {
      * @return number of tasks in the list.
      */
     public int size() {
-        return tasks.size();
+        return ids.size();
     }
 
     /**
@@ -129,7 +292,38 @@ public class TaskList {
      * @return task at the provided index.
      */
     public Task getTask(int index) {
-        return tasks.get(index);
+        return tasks.get(ids.select(index));
+    }
+
+    /**
+     * Retrieves the id of the task at a specified index.
+     * The id keeps referring to the same task while it is in the list, even if its index changes.
+     *
+     * @param index index of the task.
+     * @return id of the task at the provided index.
+     */
+    public int getTaskId(int index) {
+        return ids.select(index);
+    }
+
+    /**
+     * Retrieves the task with a specified id.
+     *
+     * @param id id of the task, as returned by {@link #getTaskId(int)}.
+     * @return task with the provided id.
+     */
+    public Task getTaskById(int id) {
+        return tasks.get(id);
+    }
+
+    /**
+     * Retrieves the current index of the task with a specified id.
+     *
+     * @param id id of the task, as returned by {@link #getTaskId(int)}.
+     * @return index of the task, or -1 if no task in the list has the id.
+     */
+    public int getIndexOfId(int id) {
+        return ids.contains(id) ? ids.rank(id) : -1;
     }
 
     /**
@@ -138,25 +332,434 @@ public class TaskList {
      * @return ArrayList of toStringed tasks.
      */
     public ArrayList<String> getTaskStrings() {
-        return tasks.stream().map(task -> task.toString()).collect(Collectors.toCollection(ArrayList::new));
+        ArrayList<String> taskStrings = new ArrayList<>(ids.size());
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            taskStrings.add(tasks.get(id).toString());
+        }
+        return taskStrings;
+    }
+
+    /**
+     * Returns a read-only view of the tasks in the list, which later changes to the list do not affect.
+     * Lists kept in the default store share their tasks with the snapshot, so this takes O(1) time
+     * and may be called from any thread. Other stores are copied, on the thread that changes the list.
+     *
+     * @return snapshot of the tasks in the list.
+     */
+    public TaskListSnapshot snapshot() {
+        if (tasks instanceof PersistentTaskStore) {
+            return ((PersistentTaskStore) tasks).snapshot();
+        }
+        PersistentVector<Task> copy = PersistentVector.empty();
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            copy = copy.append(tasks.get(id).copy());
+        }
+        return new TaskListSnapshot(copy);
+    }
+
+    /**
+     * Holds back changes from storage, instead of handing each one over as it is made.
+     * The changes held back are handed over together as a single write once the given number is reached,
+     * or on {@link #flush()}, so changes since then are lost if the application does not close normally.
+     *
+     * @param maxDeferred number of changes held back that triggers a write.
+     * @throws IllegalStateException if the store writes each change itself, so writes cannot be grouped.
+     */
+    public void deferWrites(int maxDeferred) {
+        requireGroupableWrites();
+        this.deferredMutations = new ArrayList<>();
+        this.maxDeferredMutations = maxDeferred;
+    }
+
+    /**
+     * Returns whether writes can be grouped, by a transaction or by deferring them.
+     * They cannot when the store writes each change to disk itself, as it is made,
+     * as an interrupted group would then be left half written.
+     *
+     * @return true if writes can be grouped, and false otherwise.
+     */
+    public boolean canGroupWrites() {
+        return !(tasks instanceof PagedTaskStore);
+    }
+
+    /**
+     * Starts a transaction, so that the changes made until it ends are kept or undone together.
+     * The changes are only handed to storage once the transaction is committed, as a single write.
+     *
+     * @return true if the transaction was started, or false if a transaction is already in progress.
+     * @throws IllegalStateException if the store writes each change itself, so writes cannot be grouped.
+     */
+    public boolean beginTransaction() {
+        requireGroupableWrites();
+        if (undoRecords != null) {
+            return false;
+        }
+        transactionMutations = new ArrayList<>();
+        undoRecords = new ArrayList<>();
+        return true;
+    }
+
+    /**
+     * Ends the transaction in progress, handing every change made during it to storage as a single write.
+     *
+     * @return number of changes committed, or an empty Optional if no transaction is in progress.
+     */
+    public Optional<Integer> commitTransaction() {
+        if (undoRecords == null) {
+            return Optional.empty();
+        }
+        ArrayList<TaskMutation> committed = transactionMutations;
+        transactionMutations = null;
+        undoRecords = null;
+        handToStorage(committed);
+        return Optional.of(committed.size());
     }
 
-    private void update() {
-        this.storage.write(this.tasks);
+    /**
+     * Ends the transaction in progress, undoing every change made during it, latest first.
+     * Nothing is written to storage, as the changes never reached it.
+     *
+     * @return number of changes undone, or an empty Optional if no transaction is in progress.
+     */
+    public Optional<Integer> rollbackTransaction() {
+        if (undoRecords == null) {
+            return Optional.empty();
+        }
+        ArrayList<UndoRecord> undone = undoRecords;
+        transactionMutations = null;
+        undoRecords = null;
+        for (int i = undone.size() - 1; i >= 0; i--) {
+            undo(undone.get(i));
+        }
+        return Optional.of(undone.size());
+    }
+
+    /**
+     * Blocks until every change made to the list so far has been written to storage.
+     * Changes made during a transaction that is still in progress are not written.
+     */
+    public void flush() {
+        if (this.storage != null) {
+            writeDeferred();
+            this.storage.flush();
+        }
+        this.tasks.flush();
+    }
+
+    private void requireGroupableWrites() {
+        if (!canGroupWrites()) {
+            throw new IllegalStateException(tasks.getClass().getSimpleName()
+                    + " writes each change as it is made, so writes cannot be grouped");
+        }
+    }
+
+    private void addStoredIds() {
+        for (int id = 0; id < tasks.size(); id++) {
+            ids.add(id);
+        }
+    }
+
+    private void changed(int index, int id, Task before, Task after) {
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.changed(id, before, after);
+        }
+        update(TaskMutation.changed(index, after), new UndoRecord(TaskMutation.Kind.CHANGED, id, before));
+    }
+
+    private void update(TaskMutation mutation, UndoRecord undoRecord) {
+        if (undoRecords != null) {
+            undoRecords.add(undoRecord);
+            transactionMutations.add(mutation);
+        } else {
+            handToStorage(List.of(mutation));
+        }
+    }
+
+    private void handToStorage(List<TaskMutation> mutations) {
+        if (this.storage == null || mutations.isEmpty()) {
+            return;
+        }
+        if (deferredMutations == null) {
+            this.storage.appendAll(mutations);
+            return;
+        }
+        deferredMutations.addAll(mutations);
+        if (deferredMutations.size() >= maxDeferredMutations) {
+            writeDeferred();
+        }
+    }
+
+    private void undo(UndoRecord undoRecord) {
+        int id = undoRecord.id;
+        switch (undoRecord.kind) {
+        case ADDED:
+            Task added = tasks.remove(id);
+            ids.remove(id);
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.removed(id, added);
+            }
+            break;
+        case CHANGED:
+            Task after = tasks.get(id);
+            tasks.set(id, undoRecord.before);
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.changed(id, after, undoRecord.before);
+            }
+            break;
+        case REMOVED:
+            tasks.restore(id, undoRecord.before);
+            ids.add(id);
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.added(id, undoRecord.before);
+            }
+            break;
+        default:
+            throw new RuntimeException();
+        }
+    }
+
+    private void writeDeferred() {
+        if (deferredMutations != null && !deferredMutations.isEmpty()) {
+            this.storage.appendAll(deferredMutations);
+            deferredMutations = new ArrayList<>();
+        }
     }
 
     /**
      * Returns a list of all tasks whose descriptions contain the search string.
+     * Search strings of at least three characters are narrowed down using an index of the descriptions,
+     * so only a few descriptions have to be searched.
      *
      * @param string text to search in descriptions.
      * @return TaskList containing tasks whose descriptions contain the search text.
      */
     public TaskList findInDescriptions(String string) {
-        TaskList taskList = new TaskList(null);
-        // credit to IntelliJ for this line of code that I won't bother to understand
-        taskList.tasks = tasks.stream().filter(task -> task.getDescription().contains(string))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return taskList;
+        return findInDescriptions(string, TaskFilter.ALL);
+    }
+
+    /**
+     * Returns a list of all tasks that match the filter, and whose descriptions contain the search string.
+     * The filter is checked first, so descriptions of tasks that do not match it are never searched.
+     *
+     * @param string text to search in descriptions.
+     * @param filter filter that the tasks must match.
+     * @return TaskList containing matching tasks whose descriptions contain the search text.
+     */
+    public TaskList findInDescriptions(String string, TaskFilter filter) {
+        ArrayList<Task> found = new ArrayList<>();
+        BitSet matching = filter.isAll() ? null : getFilterIndex().findMatching(filter);
+        Optional<SortedIntList> candidates = getTrigramIndex().findCandidates(string);
+        if (candidates.isPresent()) {
+            // ids are handed out in increasing order as tasks are added, so they are sorted in list order
+            for (int i = 0; i < candidates.get().size(); i++) {
+                int id = candidates.get().get(i);
+                if (matching == null || matching.get(id)) {
+                    addIfDescriptionContains(found, id, string);
+                }
+            }
+        } else if (matching != null) {
+            for (int id = matching.nextSetBit(0); id >= 0; id = matching.nextSetBit(id + 1)) {
+                addIfDescriptionContains(found, id, string);
+            }
+        } else {
+            for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+                addIfDescriptionContains(found, id, string);
+            }
+        }
+        return new TaskList(new ArrayListTaskStore(found));
+    }
+
+    private void addIfDescriptionContains(ArrayList<Task> found, int id, String string) {
+        // only the description is needed to check, so the whole task is only retrieved on a match
+        if (tasks.getDescription(id).contains(string)) {
+            found.add(tasks.get(id));
+        }
+    }
+
+    /**
+     * Returns a list of all tasks whose descriptions contain every word of the search string, as whole words.
+     * Unlike {@link #findInDescriptions(String)}, case is ignored, and words are looked up in an index
+     * instead of searching every description. Search strings without words match every task.
+     *
+     * @param string text containing the words to search for.
+     * @return TaskList containing tasks whose descriptions contain every word searched.
+     */
+    public TaskList findWordsInDescriptions(String string) {
+        return findWordsInDescriptions(string, TaskFilter.ALL);
+    }
+
+    /**
+     * Returns a list of all tasks that match the filter, and whose descriptions contain every word
+     * of the search string, as whole words.
+     *
+     * @param string text containing the words to search for.
+     * @param filter filter that the tasks must match.
+     * @return TaskList containing matching tasks whose descriptions contain every word searched.
+     * @see #findWordsInDescriptions(String)
+     */
+    public TaskList findWordsInDescriptions(String string, TaskFilter filter) {
+        Optional<SortedIntList> matches = getTokenIndex().find(string);
+        if (matches.isEmpty()) {
+            return filter(filter);
+        }
+        BitSet matching = filter.isAll() ? null : getFilterIndex().findMatching(filter);
+        ArrayList<Task> found = new ArrayList<>(matches.get().size());
+        for (int i = 0; i < matches.get().size(); i++) {
+            int id = matches.get().get(i);
+            if (matching == null || matching.get(id)) {
+                found.add(tasks.get(id));
+            }
+        }
+        return new TaskList(new ArrayListTaskStore(found));
+    }
+
+    /**
+     * Returns a list of all tasks that match the filter, and whose descriptions contain a word
+     * within the given edit distance of every word of the search string, so that typos are tolerated.
+     * Tasks are ordered by how close their words are to the search string, closest first.
+     * Only the words of the descriptions are compared, never whole descriptions.
+     *
+     * @param string      text containing the words to search for.
+     * @param maxDistance largest number of characters inserted, removed or replaced to turn a word searched
+     *                    into a word of a description.
+     * @param filter      filter that the tasks must match.
+     * @return TaskList containing matching tasks, closest first.
+     */
+    public TaskList findFuzzyWordsInDescriptions(String string, int maxDistance, TaskFilter filter) {
+        Optional<ArrayList<Integer>> matches = getTokenIndex().findFuzzy(string, maxDistance);
+        if (matches.isEmpty()) {
+            return filter(filter);
+        }
+        BitSet matching = filter.isAll() ? null : getFilterIndex().findMatching(filter);
+        ArrayList<Task> found = new ArrayList<>(matches.get().size());
+        for (int id : matches.get()) {
+            if (matching == null || matching.get(id)) {
+                found.add(tasks.get(id));
+            }
+        }
+        return new TaskList(new ArrayListTaskStore(found));
+    }
+
+    /**
+     * Returns a list of all tasks that match the filter.
+     * Only the matching tasks are retrieved, so filters that match few tasks are fast on any list.
+     *
+     * @param filter filter that the tasks must match.
+     * @return TaskList containing matching tasks.
+     */
+    public TaskList filter(TaskFilter filter) {
+        if (filter.isAll()) {
+            return findInDescriptions("");
+        }
+        BitSet matching = getFilterIndex().findMatching(filter);
+        ArrayList<Task> found = new ArrayList<>(matching.cardinality());
+        for (int id = matching.nextSetBit(0); id >= 0; id = matching.nextSetBit(id + 1)) {
+            found.add(tasks.get(id));
+        }
+        return new TaskList(new ArrayListTaskStore(found));
+    }
+
+    /**
+     * Returns a list of all deadlines due before the given date, earliest first.
+     *
+     * @param date date the deadlines are due before.
+     * @return TaskList containing the deadlines due before the date.
+     */
+    public TaskList findDueBefore(LocalDate date) {
+        return getTasksWithIds(getDateIndex().findDueBefore(date));
+    }
+
+    /**
+     * Returns a list of the deadlines and events that are not done yet, and are due or start the soonest.
+     * The list is kept ordered by urgency as tasks change, so this does not sort the tasks.
+     *
+     * @param count largest number of tasks to return.
+     * @return TaskList containing the most urgent tasks, ordered by due or start date, with ties in list order.
+     */
+    public TaskList findMostUrgent(int count) {
+        return getTasksWithIds(getUrgencyIndex().findMostUrgent(count));
+    }
+
+    /**
+     * Returns a list of all events happening on the given date, and deadlines due on it.
+     *
+     * @param date date to look for tasks on.
+     * @return TaskList containing the tasks on the date, in order of start or due date.
+     */
+    public TaskList findHappeningOn(LocalDate date) {
+        return findOverlapping(date, date);
+    }
+
+    /**
+     * Returns a list of all events that overlap the given dates, and deadlines due within them.
+     *
+     * @param from first date to look for tasks on.
+     * @param to   last date to look for tasks on.
+     * @return TaskList containing the tasks within the dates, in order of start or due date.
+     */
+    public TaskList findOverlapping(LocalDate from, LocalDate to) {
+        return getTasksWithIds(getDateIndex().findOverlapping(from, to));
+    }
+
+    private TaskList getTasksWithIds(ArrayList<Integer> matches) {
+        ArrayList<Task> found = new ArrayList<>(matches.size());
+        for (int id : matches) {
+            found.add(tasks.get(id));
+        }
+        return new TaskList(new ArrayListTaskStore(found));
+    }
+
+    // indexes are built on first use, so lists that are never searched do not read every description
+
+    /**
+     * Builds every index that searches use, so that searching afterwards only reads the list.
+     */
+    void buildIndexes() {
+        getTokenIndex().buildFuzzyVocabulary();
+        getTrigramIndex();
+        getDateIndex();
+        getUrgencyIndex();
+        getFilterIndex();
+    }
+
+    private TokenIndex getTokenIndex() {
+        if (tokenIndex == null) {
+            tokenIndex = new TokenIndex(tasks, ids);
+            indexes.add(tokenIndex);
+        }
+        return tokenIndex;
+    }
+
+    private TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            trigramIndex = new TrigramIndex(tasks, ids);
+            indexes.add(trigramIndex);
+        }
+        return trigramIndex;
+    }
+
+    private DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex(tasks, ids);
+            indexes.add(dateIndex);
+        }
+        return dateIndex;
+    }
+
+    private UrgencyIndex getUrgencyIndex() {
+        if (urgencyIndex == null) {
+            urgencyIndex = new UrgencyIndex(tasks, ids);
+            indexes.add(urgencyIndex);
+        }
+        return urgencyIndex;
+    }
+
+    private FilterIndex getFilterIndex() {
+        if (filterIndex == null) {
+            filterIndex = new FilterIndex(tasks, ids);
+            indexes.add(filterIndex);
+        }
+        return filterIndex;
     }
 
 }
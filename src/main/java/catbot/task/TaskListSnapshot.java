@@ -0,0 +1,60 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import catbot.internal.PersistentVector;
+
+/**
+ * Read-only view of the tasks of a {@link TaskList TaskList} at the moment it was taken.
+ * Later changes to the list do not affect the snapshot, so it may be read from any thread
+ * without locking, while the list keeps changing.
+ * Tasks are retrieved by position in O(log n).
+ */
+public class TaskListSnapshot {
+
+    private final PersistentVector<Task> tasks;
+
+    TaskListSnapshot(PersistentVector<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Retrieves the number of tasks in the snapshot.
+     *
+     * @return number of tasks.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Retrieves a copy of the task at a specified index.
+     *
+     * @param index index of the task.
+     * @return task at the provided index.
+     */
+    public Task getTask(int index) {
+        return tasks.get(tasks.select(index)).copy();
+    }
+
+    /**
+     * Passes a copy of every task to the consumer, in sequence.
+     *
+     * @param consumer consumer to accept the tasks.
+     */
+    public void forEachTask(Consumer<Task> consumer) {
+        tasks.forEach(task -> consumer.accept(task.copy()));
+    }
+
+    /**
+     * Returns an ArrayList of the string representations of all tasks, in sequence.
+     *
+     * @return ArrayList of toStringed tasks.
+     */
+    public ArrayList<String> getTaskStrings() {
+        ArrayList<String> taskStrings = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> taskStrings.add(task.toString()));
+        return taskStrings;
+    }
+}
@@ -0,0 +1,116 @@
+package catbot.task;
+
+import java.util.ArrayList;
+
+/**
+ * Record of a single change made to a list of Tasks.
+ * Holds a copy of the affected Task, so that later changes to the original do not affect the record.
+ */
+public class TaskMutation {
+
+    //region Fields
+
+    /**
+     * Kind of change described by a TaskMutation.
+     */
+    enum Kind {
+        ADDED, CHANGED, REMOVED
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final Task task;
+
+    //endregion
+
+    //region Constructor
+
+    TaskMutation(Kind kind, int index, Task task) {
+        this.kind = kind;
+        this.index = index;
+        this.task = task;
+    }
+
+    /**
+     * Creates a record of a Task being added to the end of a list.
+     *
+     * @param index index of the Task after it was added.
+     * @param task  Task that was added.
+     * @return the record.
+     */
+    public static TaskMutation added(int index, Task task) {
+        return new TaskMutation(Kind.ADDED, index, task.copy());
+    }
+
+    /**
+     * Creates a record of the Task at an index being modified.
+     *
+     * @param index index of the modified Task.
+     * @param task  Task after modification.
+     * @return the record.
+     */
+    public static TaskMutation changed(int index, Task task) {
+        return new TaskMutation(Kind.CHANGED, index, task.copy());
+    }
+
+    /**
+     * Creates a record of the Task at an index being removed.
+     *
+     * @param index index of the removed Task.
+     * @return the record.
+     */
+    public static TaskMutation removed(int index) {
+        return new TaskMutation(Kind.REMOVED, index, null);
+    }
+
+    //endregion
+
+    //region Getters
+
+    Kind getKind() {
+        return kind;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    Task getTask() {
+        return task;
+    }
+
+    //endregion
+
+    /**
+     * Applies the change described by this record to the given list.
+     * Does nothing if the record does not fit the list, for example if the index is out of range.
+     *
+     * @param tasks list to apply the change to.
+     * @return true if the change was applied, false otherwise.
+     */
+    public boolean applyTo(ArrayList<Task> tasks) {
+        switch (kind) {
+        case ADDED:
+            if (index != tasks.size()) {
+                return false;
+            }
+            tasks.add(task.copy());
+            return true;
+        case CHANGED:
+            if (index < 0 || index >= tasks.size()) {
+                return false;
+            }
+            tasks.set(index, task.copy());
+            return true;
+        case REMOVED:
+            if (index < 0 || index >= tasks.size()) {
+                return false;
+            }
+            tasks.remove(index);
+            return true;
+        default:
+            throw new RuntimeException();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package catbot.task;
+
+/**
+ * Object that holds the Tasks of a {@link TaskList TaskList}, each under an id.
+ * Ids are handed out in increasing order as Tasks are added, and are not reused while the store is open,
+ * so an id keeps referring to the same Task until it is removed.
+ * A newly constructed or opened store holds its Tasks under the ids 0 to size - 1, in order.
+ * <p>
+ * Tasks returned by a TaskStore may be decoded on demand, so changes to them are only kept
+ * once they are passed back through {@link #set(int, Task) set}.
+ */
+public interface TaskStore {
+
+    /**
+     * Retrieves the number of Tasks in the store.
+     *
+     * @return number of Tasks.
+     */
+    int size();
+
+    /**
+     * Retrieves the Task with the given id.
+     *
+     * @param id id of the Task.
+     * @return the Task.
+     */
+    Task get(int id);
+
+    /**
+     * Retrieves only the description of the Task with the given id.
+     *
+     * @param id id of the Task.
+     * @return description of the Task.
+     */
+    String getDescription(int id);
+
+    /**
+     * Adds a Task to the store, under a new id larger than every id handed out before.
+     *
+     * @param task Task to add.
+     * @return id of the added Task.
+     */
+    int add(Task task);
+
+    /**
+     * Replaces the Task with the given id, keeping the id.
+     *
+     * @param id   id of the Task to replace.
+     * @param task Task to store under the id.
+     */
+    void set(int id, Task task);
+
+    /**
+     * Removes the Task with the given id. The ids of other Tasks do not change.
+     *
+     * @param id id of the Task to remove.
+     * @return the removed Task.
+     */
+    Task remove(int id);
+
+    /**
+     * Puts a removed Task back under the id it was removed from, as if it had never been removed.
+     *
+     * @param id   id the Task was removed from.
+     * @param task Task to put back.
+     */
+    void restore(int id, Task task);
+
+    /**
+     * Blocks until the store has written its Tasks to disk, if it keeps them on disk.
+     */
+    void flush();
+
+}
@@ -1,46 +1,46 @@
 package catbot.task;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import catbot.internal.ArgumentSchema;
+import catbot.internal.BoundArguments;
 import catbot.internal.NamedParameterMap;
-import catbot.io.ErrorIndicatorIo;
+import catbot.internal.ParameterView;
 
 /**
  * The most basic task.
  */
 public class Todo extends Task {
-    private Todo(String desc) {
+
+    private static final long serialVersionUID = -7772546373492752767L;
+
+    private static final ArgumentSchema SCHEMA = new ArgumentSchema();
+    private static final ArgumentSchema.Parameter<String> DESCRIPTION =
+            SCHEMA.required("", ArgumentSchema.Type.TEXT, "description");
+
+    Todo(String desc) {
         setDescription(desc);
     }
 
     /**
-     * Optionally creates a Deadline, if the given NamedParameterMap has valid arguments.
+     * Optionally creates a Todo, if the given parameters have valid arguments.
      *
-     * @param map                 map of parameters and arguments to attempt to create a Deadline.
-     * @param invalidStateHandler consumer to accept information about the error in case of argument invalidity.
+     * @param view           parameters and arguments to attempt to create a Todo.
+     * @param invalidHandler consumer to accept the arguments that are invalid, in case of argument invalidity.
      * @return an Optional Task if arguments are valid, otherwise an empty Optional.
      */
     public static Optional<Task> createIfValidElse(
-            NamedParameterMap map,
-            BiConsumer<ErrorIndicatorIo.InvalidArgumentState, NamedParameterMap> invalidStateHandler
+            ParameterView view,
+            Consumer<List<ArgumentSchema.Error>> invalidHandler
     ) {
-
-        Optional<InvalidArgumentStruct> optionalInvalidParameterState =
-                Task.invalidStateIfTaskParametersMissingOrBlank(
-                        map,
-                        ""
-                );
-        if (optionalInvalidParameterState.isPresent()) {
-            InvalidArgumentStruct invalidArgumentStruct = optionalInvalidParameterState.get();
-            invalidArgumentStruct.parameters.moveToNewKey("", "description");
-            invalidStateHandler.accept(invalidArgumentStruct.state, invalidArgumentStruct.parameters);
+        BoundArguments arguments = SCHEMA.bind(view);
+        if (!arguments.getErrors().isEmpty()) {
+            invalidHandler.accept(arguments.getErrors());
             return Optional.empty();
         }
-
-        return Optional.of(new Todo(
-                map.get("")
-        ));
+        return Optional.of(new Todo(arguments.get(DESCRIPTION)));
     }
 
     @Override
@@ -0,0 +1,241 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import catbot.internal.BkTree;
+import catbot.internal.BloomFilter;
+import catbot.internal.RankedIdSet;
+import catbot.internal.SortedIntList;
+
+/**
+ * Inverted index from the words in Task descriptions to the ids of the Tasks containing them.
+ * Words are runs of letters and digits, compared without case.
+ * <p>
+ * A Bloom filter of every word in the index is checked before the index itself,
+ * so that searching for a word that appears nowhere returns without a lookup.
+ * For searches that tolerate typos, the words are also kept in a {@link BkTree}, built on the first such search
+ * or by {@link #buildFuzzyVocabulary()}. Once built, it is kept up to date as Tasks change,
+ * so that searching never changes the index.
+ */
+class TokenIndex implements TaskIndex {
+
+    //region Constants
+
+    private static final int INITIAL_VOCABULARY_CAPACITY = 1024;
+
+    //endregion
+
+    //region Fields
+
+    private final HashMap<String, SortedIntList> postings = new HashMap<>();
+    private BloomFilter vocabulary = new BloomFilter(INITIAL_VOCABULARY_CAPACITY);
+    private BkTree fuzzyVocabulary;
+    private int removedWords = 0;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a TokenIndex over the Tasks currently in the store.
+     *
+     * @param tasks store holding the Tasks to index.
+     * @param ids   ids of the Tasks in the store.
+     */
+    TokenIndex(TaskStore tasks, RankedIdSet ids) {
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            addWords(id, tokenize(tasks.getDescription(id)));
+        }
+    }
+
+    //endregion
+
+    //region TaskIndex
+
+    @Override
+    public void added(int id, Task task) {
+        addWords(id, tokenize(task.getDescription()));
+    }
+
+    @Override
+    public void changed(int id, Task before, Task after) {
+        Set<String> oldWords = tokenize(before.getDescription());
+        Set<String> newWords = tokenize(after.getDescription());
+        for (String word : oldWords) {
+            if (!newWords.contains(word)) {
+                removeWord(id, word);
+            }
+        }
+        addWords(id, newWords);
+    }
+
+    @Override
+    public void removed(int id, Task task) {
+        for (String word : tokenize(task.getDescription())) {
+            removeWord(id, word);
+        }
+    }
+
+    //endregion
+
+    //region Queries
+
+    /**
+     * Finds the ids of Tasks whose descriptions contain every word in the query.
+     *
+     * @param query text containing the words to search for.
+     * @return ids of matching Tasks in ascending order, or empty if the query contains no words.
+     */
+    Optional<SortedIntList> find(String query) {
+        Set<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Optional.empty();
+        }
+        SortedIntList smallest = null;
+        for (String word : words) {
+            SortedIntList positions = vocabulary.mightContain(word) ? postings.get(word) : null;
+            if (positions == null) {
+                return Optional.of(new SortedIntList());
+            }
+            smallest = smallest == null || positions.size() < smallest.size() ? positions : smallest;
+        }
+        // intersecting from the rarest word keeps every intermediate result small
+        SortedIntList result = smallest.copy();
+        for (String word : words) {
+            SortedIntList positions = postings.get(word);
+            if (positions != smallest) {
+                result = result.intersect(positions);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Finds the ids of Tasks whose descriptions contain, for every word in the query,
+     * a word within the given edit distance of it.
+     * Tasks are ranked by the sum of the distances of the closest words, and by id when tied.
+     *
+     * @param query       text containing the words to search for.
+     * @param maxDistance largest edit distance between a word in the query and a word in a description.
+     * @return ids of matching Tasks, closest first, or empty if the query contains no words.
+     */
+    Optional<ArrayList<Integer>> findFuzzy(String query, int maxDistance) {
+        Set<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Optional.empty();
+        }
+        buildFuzzyVocabulary();
+
+        HashMap<Integer, Integer> totalDistances = null;
+        for (String word : words) {
+            // closest distance from the query word to any word of each task
+            HashMap<Integer, Integer> distances = new HashMap<>();
+            HashMap<Integer, Integer> previousTotals = totalDistances;
+            fuzzyVocabulary.forEachWithin(word, maxDistance, (match, distance) -> {
+                // removed words stay in the tree until it is rebuilt, but have no postings
+                SortedIntList ids = postings.get(match);
+                for (int i = 0; ids != null && i < ids.size(); i++) {
+                    if (previousTotals == null || previousTotals.containsKey(ids.get(i))) {
+                        distances.merge(ids.get(i), distance, Math::min);
+                    }
+                }
+            });
+            if (previousTotals != null) {
+                distances.replaceAll((id, distance) -> distance + previousTotals.get(id));
+            }
+            totalDistances = distances;
+        }
+
+        ArrayList<Integer> ranked = new ArrayList<>(totalDistances.keySet());
+        HashMap<Integer, Integer> rankedDistances = totalDistances;
+        ranked.sort(Comparator.<Integer>comparingInt(rankedDistances::get).thenComparingInt(id -> id));
+        return Optional.of(ranked);
+    }
+
+    /**
+     * Builds the tree of words searched by {@link #findFuzzy(String, int)}, if it is not built yet.
+     */
+    void buildFuzzyVocabulary() {
+        if (fuzzyVocabulary == null) {
+            fuzzyVocabulary = new BkTree();
+            postings.keySet().forEach(fuzzyVocabulary::add);
+        }
+    }
+
+    /**
+     * Splits text into its distinct words, in lower case.
+     *
+     * @param text text to split.
+     * @return words of the text, in order of first appearance.
+     */
+    static Set<String> tokenize(String text) {
+        LinkedHashSet<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    private void addWords(int id, Set<String> words) {
+        for (String word : words) {
+            SortedIntList positions = postings.get(word);
+            if (positions == null) {
+                positions = new SortedIntList();
+                postings.put(word, positions);
+                vocabulary.add(word);
+                if (fuzzyVocabulary != null) {
+                    fuzzyVocabulary.add(word);
+                }
+            }
+            positions.add(id);
+        }
+        if (vocabulary.isOverCapacity()) {
+            rebuildVocabulary();
+        }
+    }
+
+    private void removeWord(int id, String word) {
+        SortedIntList positions = postings.get(word);
+        if (positions == null || !positions.remove(id) || !positions.isEmpty()) {
+            return;
+        }
+        postings.remove(word);
+        // words cannot be removed from a Bloom filter, so it is rebuilt once enough of it is stale
+        if (++removedWords > Math.max(INITIAL_VOCABULARY_CAPACITY, postings.size())) {
+            rebuildVocabulary();
+        }
+    }
+
+    private void rebuildVocabulary() {
+        vocabulary = new BloomFilter(Math.max(INITIAL_VOCABULARY_CAPACITY, postings.size() * 2));
+        for (String word : postings.keySet()) {
+            vocabulary.add(word);
+        }
+        if (fuzzyVocabulary != null) {
+            // dropping the removed words here rather than on the next search keeps searches from writing
+            fuzzyVocabulary = null;
+            buildFuzzyVocabulary();
+        }
+        removedWords = 0;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,133 @@
+package catbot.task;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+
+import catbot.internal.RankedIdSet;
+import catbot.internal.SortedIntList;
+
+/**
+ * Index from every three consecutive characters in Task descriptions to the ids of the Tasks containing them.
+ * A description can only contain a search string if it contains every trigram of that string,
+ * so the index narrows a substring search down to a few candidates, which are then checked exactly.
+ */
+class TrigramIndex implements TaskIndex {
+
+    //region Constants
+
+    static final int TRIGRAM_LENGTH = 3;
+
+    //endregion
+
+    //region Fields
+
+    private final HashMap<Long, SortedIntList> postings = new HashMap<>();
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs a TrigramIndex over the Tasks currently in the store.
+     *
+     * @param tasks store holding the Tasks to index.
+     * @param ids   ids of the Tasks in the store.
+     */
+    TrigramIndex(TaskStore tasks, RankedIdSet ids) {
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            for (Long trigram : trigrams(tasks.getDescription(id))) {
+                postings.computeIfAbsent(trigram, ignored -> new SortedIntList()).add(id);
+            }
+        }
+    }
+
+    //endregion
+
+    //region TaskIndex
+
+    @Override
+    public void added(int id, Task task) {
+        for (Long trigram : trigrams(task.getDescription())) {
+            postings.computeIfAbsent(trigram, ignored -> new SortedIntList()).add(id);
+        }
+    }
+
+    @Override
+    public void changed(int id, Task before, Task after) {
+        if (before.getDescription().equals(after.getDescription())) {
+            return;
+        }
+        HashSet<Long> newTrigrams = trigrams(after.getDescription());
+        for (Long trigram : trigrams(before.getDescription())) {
+            if (!newTrigrams.contains(trigram)) {
+                removeTrigram(id, trigram);
+            }
+        }
+        for (Long trigram : newTrigrams) {
+            postings.computeIfAbsent(trigram, ignored -> new SortedIntList()).add(id);
+        }
+    }
+
+    @Override
+    public void removed(int id, Task task) {
+        for (Long trigram : trigrams(task.getDescription())) {
+            removeTrigram(id, trigram);
+        }
+    }
+
+    //endregion
+
+    //region Queries
+
+    /**
+     * Finds the ids of Tasks whose descriptions might contain the search string.
+     * Every Task that does contain it is included, but the candidates still have to be checked.
+     *
+     * @param string text to search for.
+     * @return ids of candidate Tasks in ascending order,
+     *         or empty if the string is too short to narrow down the candidates.
+     */
+    Optional<SortedIntList> findCandidates(String string) {
+        if (string.length() < TRIGRAM_LENGTH) {
+            return Optional.empty();
+        }
+        SortedIntList result = null;
+        for (Long trigram : trigrams(string)) {
+            SortedIntList positions = postings.get(trigram);
+            if (positions == null) {
+                return Optional.of(new SortedIntList());
+            }
+            result = result == null ? positions.copy() : result.intersect(positions);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.of(result);
+    }
+
+    //endregion
+
+    //region Internal Helpers
+
+    /**
+     * Packs every distinct run of three characters in the text into a long, sixteen bits per character.
+     */
+    private static HashSet<Long> trigrams(String text) {
+        HashSet<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private void removeTrigram(int id, Long trigram) {
+        SortedIntList positions = postings.get(trigram);
+        if (positions != null && positions.remove(id) && positions.isEmpty()) {
+            postings.remove(trigram);
+        }
+    }
+
+    //endregion
+
+}
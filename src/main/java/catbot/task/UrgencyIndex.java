@@ -0,0 +1,83 @@
+package catbot.task;
+
+import java.util.ArrayList;
+
+import catbot.internal.IndexedMinHeap;
+import catbot.internal.RankedIdSet;
+
+/**
+ * Index of the Deadlines and Events that are not done yet, by how soon they are due or start, as epoch days.
+ * The index is a heap that is updated in place as Tasks change, so the most urgent Tasks
+ * are found without sorting the list.
+ */
+class UrgencyIndex implements TaskIndex {
+
+    //region Fields
+
+    private final IndexedMinHeap urgent = new IndexedMinHeap();
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Constructs an UrgencyIndex over the Tasks currently in the store.
+     *
+     * @param tasks store holding the Tasks to index.
+     * @param ids   ids of the Tasks in the store.
+     */
+    UrgencyIndex(TaskStore tasks, RankedIdSet ids) {
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            added(id, tasks.get(id));
+        }
+    }
+
+    //endregion
+
+    //region TaskIndex
+
+    @Override
+    public void added(int id, Task task) {
+        if (task.isDone()) {
+            return;
+        }
+        if (task instanceof Deadline) {
+            urgent.set(id, ((Deadline) task).getDueDate().toEpochDay());
+        } else if (task instanceof Event) {
+            urgent.set(id, ((Event) task).getEventStart().toEpochDay());
+        }
+    }
+
+    @Override
+    public void changed(int id, Task before, Task after) {
+        if (after.isDone()) {
+            urgent.remove(id);
+        } else {
+            added(id, after);
+        }
+    }
+
+    @Override
+    public void removed(int id, Task task) {
+        urgent.remove(id);
+    }
+
+    //endregion
+
+    //region Queries
+
+    /**
+     * Finds the ids of the most urgent Tasks that are not done yet.
+     *
+     * @param count largest number of Tasks to find.
+     * @return ids of the Tasks, most urgent first, with ties in list order.
+     */
+    ArrayList<Integer> findMostUrgent(int count) {
+        ArrayList<Integer> matches = new ArrayList<>(Math.min(count, urgent.size()));
+        urgent.forEachSmallest(count, matches::add);
+        return matches;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,55 @@
+package catbot.internal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArgumentSchemaTest {
+
+    private final Parser parser = Parser.with("/", true);
+
+    @Test
+    public void bind_validArguments_typedValues() {
+        ArgumentSchema schema = new ArgumentSchema();
+        ArgumentSchema.Parameter<String> description = schema.required("", ArgumentSchema.Type.TEXT, "description");
+        ArgumentSchema.Parameter<LocalDate> by = schema.required("by", ArgumentSchema.Type.DATE, "due date");
+        ArgumentSchema.Parameter<Integer> count = schema.optional("count", ArgumentSchema.Type.COUNT, "count", 5);
+        ArgumentSchema.Parameter<Boolean> word = schema.optional("word", ArgumentSchema.Type.FLAG, "word");
+
+        BoundArguments arguments = schema.bind(parser.scan("return book /by 2024-01-02 /word"));
+
+        assertTrue(arguments.getErrors().isEmpty());
+        assertEquals("return book", arguments.get(description));
+        assertEquals(LocalDate.of(2024, 1, 2), arguments.get(by));
+        assertEquals(5, arguments.get(count));
+        assertEquals(true, arguments.get(word));
+    }
+
+    @Test
+    public void bind_invalidArguments_errorsInDeclarationOrder() {
+        ArgumentSchema schema = new ArgumentSchema();
+        ArgumentSchema.Parameter<String> description = schema.required("", ArgumentSchema.Type.TEXT, "description");
+        ArgumentSchema.Parameter<LocalDate> from = schema.required("from", ArgumentSchema.Type.DATE, "start date");
+        ArgumentSchema.Parameter<LocalDate> to = schema.required("to", ArgumentSchema.Type.DATE, "end date");
+        ArgumentSchema.Parameter<Integer> count = schema.optional("count", ArgumentSchema.Type.COUNT, "count");
+
+        BoundArguments arguments = schema.bind(parser.scan("/from tomorrow /count -1"));
+        List<ArgumentSchema.Error> errors = arguments.getErrors();
+
+        assertEquals(4, errors.size());
+        assertEquals(ArgumentSchema.Problem.EMPTY, errors.get(0).getProblem());
+        assertEquals(description, errors.get(0).getParameter());
+        assertEquals(ArgumentSchema.Problem.WRONG_TYPE, errors.get(1).getProblem());
+        assertEquals("tomorrow", errors.get(1).getArgument());
+        assertEquals(ArgumentSchema.Problem.MISSING, errors.get(2).getProblem());
+        assertEquals(to, errors.get(2).getParameter());
+        assertEquals(ArgumentSchema.Problem.WRONG_TYPE, errors.get(3).getProblem());
+        assertNull(arguments.get(from));
+        assertNull(arguments.get(count));
+    }
+}
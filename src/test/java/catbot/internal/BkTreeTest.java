@@ -0,0 +1,53 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BkTreeTest {
+
+    @Test
+    public void distance_typicalTypos_countsEdits() {
+        assertEquals(0, BkTree.distance("meeting", "meeting"));
+        assertEquals(1, BkTree.distance("meetng", "meeting"));
+        assertEquals(2, BkTree.distance("meetng", "metting"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "book"));
+    }
+
+    @Test
+    public void forEachWithin_randomWords_sameAsScan() {
+        Random random = new Random(17);
+        BkTree tree = new BkTree();
+        ArrayList<String> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 1 + random.nextInt(6); length > 0; length--) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            tree.add(word.toString());
+            if (!words.contains(word.toString())) {
+                words.add(word.toString());
+            }
+        }
+        assertEquals(words.size(), tree.size());
+
+        for (String query : new String[] {"abc", "dddd", "a", "bacadb"}) {
+            TreeMap<String, Integer> expected = new TreeMap<>();
+            for (String word : words) {
+                int distance = BkTree.distance(word, query);
+                if (distance <= 2) {
+                    expected.put(word, distance);
+                }
+            }
+            TreeMap<String, Integer> found = new TreeMap<>();
+            tree.forEachWithin(query, 2, found::put);
+            assertEquals(expected, found);
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package catbot.internal;
 
+import java.util.List;
+
 import catbot.LambdaOutput;
 import org.junit.jupiter.api.Test;
 
@@ -50,4 +52,63 @@ public class CommandMapTest {
         assertNull(output.getOutput());
     }
 
+    @Test
+    public void run_prefix_runUniqueOrIndicateCandidates() {
+        LambdaOutput<String> defaultOutput = new LambdaOutput<>();
+        LambdaOutput<List<String>> candidates = new LambdaOutput<>();
+        LambdaOutput<String> output = new LambdaOutput<>();
+
+        CommandMap map = new CommandMap()
+                .setDefaultCommand(defaultOutput::setOutput)
+                .setAmbiguousCommand((invocation, commands) -> candidates.setOutput(commands))
+                .addCommand("delete", args -> output.setOutput("delete " + args))
+                .addCommand("deadline", args -> output.setOutput("deadline " + args))
+                .addCommand("on", args -> output.setOutput("on " + args))
+                .addCommand("overlapping", args -> output.setOutput("overlapping " + args));
+
+        map.run("del", "1");
+        assertEquals("delete 1", output.getOutput());
+        map.run("dea", "2");
+        assertEquals("deadline 2", output.getOutput());
+        map.run("on", "3");
+        assertEquals("on 3", output.getOutput());
+        map.run("ov", "4");
+        assertEquals("overlapping 4", output.getOutput());
+        assertNull(candidates.getOutput());
+
+        map.run("de", "5");
+        assertEquals(List.of("deadline", "delete"), candidates.getOutput());
+        assertEquals("overlapping 4", output.getOutput());
+
+        map.run("dex", "6");
+        assertEquals("dex", defaultOutput.getOutput());
+        map.run("", "7");
+        assertEquals("", defaultOutput.getOutput());
+    }
+
+    @Test
+    public void run_startOfExactCommand_runDefaultCommand() {
+        LambdaOutput<String> defaultOutput = new LambdaOutput<>();
+        LambdaOutput<List<String>> candidates = new LambdaOutput<>();
+        LambdaOutput<String> output = new LambdaOutput<>();
+
+        CommandMap map = new CommandMap()
+                .setDefaultCommand(defaultOutput::setOutput)
+                .setAmbiguousCommand((invocation, commands) -> candidates.setOutput(commands))
+                .addExactCommand("bye", args -> output.setOutput("bye " + args))
+                .addExactCommand("rollback", args -> output.setOutput("rollback " + args))
+                .addCommand("remove", args -> output.setOutput("remove " + args));
+
+        map.run("by", "1");
+        assertEquals("by", defaultOutput.getOutput());
+        assertNull(output.getOutput());
+
+        map.run("r", "2");
+        assertEquals("remove 2", output.getOutput());
+        assertNull(candidates.getOutput());
+
+        map.run("bye", "3");
+        assertEquals("bye 3", output.getOutput());
+    }
+
 }
@@ -0,0 +1,42 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndexedMinHeapTest {
+
+    @Test
+    public void forEachSmallest_randomChanges_sameAsSorting() {
+        Random random = new Random(19);
+        IndexedMinHeap heap = new IndexedMinHeap();
+        HashMap<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int id = random.nextInt(1000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, heap.remove(id));
+            } else {
+                long priority = random.nextInt(200);
+                heap.set(id, priority);
+                expected.put(id, priority);
+            }
+        }
+
+        ArrayList<Integer> sorted = new ArrayList<>(expected.keySet());
+        sorted.sort(Comparator.<Integer>comparingLong(expected::get).thenComparingInt(id -> id));
+        ArrayList<Integer> smallest = new ArrayList<>();
+        heap.forEachSmallest(50, smallest::add);
+        assertEquals(sorted.subList(0, 50), smallest);
+        assertEquals(expected.size(), heap.size());
+
+        ArrayList<Integer> all = new ArrayList<>();
+        heap.forEachSmallest(Integer.MAX_VALUE, all::add);
+        assertEquals(sorted, all);
+    }
+
+}
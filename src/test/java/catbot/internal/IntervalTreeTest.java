@@ -0,0 +1,45 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IntervalTreeTest {
+
+    @Test
+    public void forEachOverlapping_randomIntervals_sameAsScan() {
+        Random random = new Random(7);
+        IntervalTree tree = new IntervalTree();
+        ArrayList<long[]> intervals = new ArrayList<>();
+        for (int value = 0; value < 500; value++) {
+            long start = random.nextInt(1000);
+            long end = start + random.nextInt(50);
+            tree.add(start, end, value);
+            intervals.add(new long[]{start, end, value});
+        }
+        for (int i = 0; i < 100; i++) {
+            long[] removed = intervals.remove(random.nextInt(intervals.size()));
+            assertEquals(true, tree.remove(removed[0], (int) removed[2]));
+        }
+        assertEquals(400, tree.size());
+
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(1100) - 50;
+            long to = from + random.nextInt(100);
+            ArrayList<Long> expected = new ArrayList<>();
+            for (long[] interval : intervals) {
+                if (interval[0] <= to && interval[1] >= from) {
+                    expected.add(interval[0] * 1000 + interval[2]);
+                }
+            }
+            expected.sort(null);
+            ArrayList<Long> found = new ArrayList<>();
+            tree.forEachOverlapping(from, to, (start, end, value) -> found.add(start * 1000 + value));
+            assertEquals(expected, found);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package catbot.internal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ParserTest {
+
+    /**
+     * Parses the way the parser did with String.split, to compare against.
+     */
+    private static NamedParameterMap splitParse(String s, String delimiter, boolean willKeepEmptyArgument) {
+        NamedParameterMap map = new NamedParameterMap();
+        String[] segments = delimiter == null ? new String[]{s} : s.split(delimiter);
+        if (willKeepEmptyArgument) {
+            map.addNamedParameter("", segments[0].trim());
+        }
+        Arrays.stream(segments).skip(willKeepEmptyArgument ? 1 : 0).forEach(segment -> {
+            String[] split = segment.split("\\s", 2);
+            map.addNamedParameter(split[0].trim(), split.length == 2 ? split[1].trim() : "");
+        });
+        return map;
+    }
+
+    @Test
+    public void scan_randomInput_sameAsSplit() {
+        Parser slashParser = Parser.with("/", true);
+        Parser singleParser = Parser.with(null);
+        Parser plainSlashParser = Parser.with("/");
+        char[] alphabet = {'a', 'b', ' ', ' ', '/', '\t', '\n', '\u0001'};
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String s = new String(chars);
+            assertEquals(splitParse(s, null, false), singleParser.parse(s), s);
+            if (!s.replace("/", "").isEmpty() || s.isEmpty()) {
+                // split finds no segments at all in a String of only delimiters
+                assertEquals(splitParse(s, "/", true), slashParser.parse(s), s);
+                assertEquals(splitParse(s, "/", false), plainSlashParser.parse(s), s);
+            }
+        }
+    }
+
+    @Test
+    public void scan_repeatedName_lastArgumentFoundAndViewReused() {
+        Parser parser = Parser.with("/", true);
+        ParameterView view = parser.scan("todo /by  monday /by tuesday/");
+        assertEquals(3, view.size());
+        assertEquals("tuesday", view.get("by"));
+        assertEquals("todo", view.get(""));
+        assertEquals(-1, view.lastIndexOf("from"));
+
+        assertSame(view, parser.scan("///"));
+        assertEquals(1, view.size());
+        assertEquals("", view.get(""));
+    }
+}
@@ -0,0 +1,87 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PersistentVectorTest {
+
+    private static ArrayList<Integer> filled(PersistentVector<Integer> vector) {
+        ArrayList<Integer> elements = new ArrayList<>();
+        vector.forEach(elements::add);
+        return elements;
+    }
+
+    @Test
+    public void setAndAppend_randomChanges_earlierVersionsUnchanged() {
+        Random random = new Random(13);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        ArrayList<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> saved = vector;
+        ArrayList<Integer> savedExpected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                vector = vector.append(i);
+                expected.add(i);
+            } else {
+                int slot = random.nextInt(expected.size());
+                Integer element = random.nextBoolean() ? null : -i;
+                vector = vector.set(slot, element);
+                expected.set(slot, element);
+            }
+            if (i == 1200) {
+                saved = vector;
+                savedExpected = new ArrayList<>(expected);
+            }
+        }
+
+        ArrayList<Integer> expectedFilled = new ArrayList<>(expected);
+        expectedFilled.removeIf(element -> element == null);
+        assertEquals(expected.size(), vector.slotCount());
+        assertEquals(expectedFilled.size(), vector.size());
+        assertEquals(expectedFilled, filled(vector));
+        for (int slot = 0; slot < expected.size(); slot++) {
+            assertEquals(expected.get(slot), vector.get(slot));
+        }
+        for (int rank = 0; rank < expectedFilled.size(); rank++) {
+            assertEquals(expectedFilled.get(rank), vector.get(vector.select(rank)));
+        }
+
+        savedExpected.removeIf(element -> element == null);
+        assertEquals(savedExpected, filled(saved));
+    }
+
+    @Test
+    public void setAndAppend_everySlotEmptiedInBetween_sameAsFreshVector() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.append(i);
+        }
+        for (int slot = 0; slot < 2000; slot++) {
+            vector = vector.set(slot, null);
+        }
+        assertEquals(0, vector.size());
+        assertEquals(new ArrayList<>(), filled(vector));
+
+        // the trie grows another level while every slot before is empty
+        for (int i = 2000; i < 40000; i++) {
+            vector = vector.append(i % 3 == 0 ? i : null);
+        }
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int i = 2000; i < 40000; i++) {
+            if (i % 3 == 0) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, filled(vector));
+        assertNull(vector.get(1999));
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals((int) expected.get(rank), vector.select(rank));
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RankedIdSetTest {
+
+    @Test
+    public void selectAndRank_randomRemovals_sameAsSortedList() {
+        Random random = new Random(11);
+        RankedIdSet set = new RankedIdSet();
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int id = 0; id < 3000; id++) {
+            set.add(id);
+            expected.add(id);
+            if (random.nextInt(3) == 0) {
+                int rank = random.nextInt(expected.size());
+                assertEquals(expected.get(rank), set.select(rank));
+                set.remove(expected.remove(rank));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals(expected.get(rank), set.select(rank));
+            assertEquals(rank, set.rank(expected.get(rank)));
+        }
+        int rank = 0;
+        for (int id = set.next(0); id >= 0; id = set.next(id + 1)) {
+            assertEquals(expected.get(rank++), id);
+        }
+    }
+
+}
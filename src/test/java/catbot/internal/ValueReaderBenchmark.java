@@ -0,0 +1,80 @@
+package catbot.internal;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures how many integers and dates can be read per second, for valid and for invalid text,
+ * with {@link ValueReader} and with the parsers that throw on invalid text.
+ * <p>
+ * Run with {@code gradlew parseBenchmark}.
+ */
+public class ValueReaderBenchmark {
+
+    private static final String[] VALID_INTEGERS = {"1", "42", "1337", "-7", "2147483647"};
+    private static final String[] INVALID_INTEGERS = {"", "one", "4 2", "2147483648", "12a"};
+    private static final String[] VALID_DATES = {"2024-01-01", "2023-12-31", "2024-02-29", "1999-07-04"};
+    private static final String[] INVALID_DATES = {"tomorrow", "2023-02-29", "2024-13-01", "01/02/2024"};
+    private static final long MEASURE_MILLIS = 500;
+
+    /**
+     * Runs the benchmark, printing reads per second for each kind of text and each reader.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        System.out.println("text              throwing reads/s  ValueReader reads/s");
+        print("valid integers", VALID_INTEGERS, ValueReaderBenchmark::parseInt, ValueReader::readInt);
+        print("invalid integers", INVALID_INTEGERS, ValueReaderBenchmark::parseInt, ValueReader::readInt);
+        print("valid dates", VALID_DATES, ValueReaderBenchmark::parseDate,
+                text -> dayOrZero(ValueReader.readDate(text)));
+        print("invalid dates", INVALID_DATES, ValueReaderBenchmark::parseDate,
+                text -> dayOrZero(ValueReader.readDate(text)));
+    }
+
+    private static void print(String name, String[] texts, ToLongFunction<String> throwing,
+                              ToLongFunction<String> reader) {
+        // once to warm up, then again to measure
+        measure(texts, throwing);
+        measure(texts, reader);
+        System.out.printf("%-16s  %16d  %19d%n", name, measure(texts, throwing), measure(texts, reader));
+    }
+
+    private static long parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException ignored) {
+            return ValueReader.NOT_AN_INT;
+        }
+    }
+
+    private static long parseDate(String text) {
+        try {
+            return LocalDate.parse(text).toEpochDay();
+        } catch (DateTimeParseException ignored) {
+            return 0;
+        }
+    }
+
+    private static long dayOrZero(LocalDate date) {
+        return date == null ? 0 : date.toEpochDay();
+    }
+
+    private static long measure(String[] texts, ToLongFunction<String> reader) {
+        long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000;
+        long count = 0;
+        long sink = 0;
+        while (System.nanoTime() < deadline) {
+            for (String text : texts) {
+                sink += reader.applyAsLong(text);
+            }
+            count += texts.length;
+        }
+        if (sink == 1) {
+            System.out.print("");
+        }
+        return count * 1000 / MEASURE_MILLIS;
+    }
+
+}
@@ -0,0 +1,94 @@
+package catbot.internal;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ValueReaderTest {
+
+    private static long parseIntOrError(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException ignored) {
+            return ValueReader.NOT_AN_INT;
+        }
+    }
+
+    private static LocalDate parseDateOrNull(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    private static String randomText(Random random, char[] alphabet, int maxLength) {
+        char[] chars = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    @Test
+    public void readInt_edgeCases_sameAsParseInt() {
+        String[] texts = {"", "-", "+", "0", "-0", "+7", "007", "2147483647", "2147483648", "-2147483648",
+            "-2147483649", "99999999999", "1 ", " 1", "1a", "\u0663", "--1"};
+        for (String text : texts) {
+            assertEquals(parseIntOrError(text), ValueReader.readInt(text), text);
+        }
+        assertEquals(ValueReader.NOT_AN_INT, ValueReader.readInt(null));
+    }
+
+    @Test
+    public void readInt_randomText_sameAsParseInt() {
+        char[] alphabet = {'0', '1', '9', '-', '+', 'x'};
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            String text = randomText(random, alphabet, 12);
+            assertEquals(parseIntOrError(text), ValueReader.readInt(text), text);
+        }
+    }
+
+    @Test
+    public void readDate_edgeCases_sameAsParse() {
+        String[] texts = {"", "2024-01-01", "2024-02-29", "2023-02-29", "2024-13-01", "2024-00-10", "2024-04-31",
+            "0000-01-01", "+2024-01-01", "+12345-01-01", "-2024-01-01", "12345-01-01", "123-01-01", "2024-1-01",
+            "2024-01-1", "2024-01-01 ", "2024/01/01", "+999999999-12-31", "+1000000000-01-01", "tomorrow"};
+        for (String text : texts) {
+            assertEquals(parseDateOrNull(text), ValueReader.readDate(text), text);
+        }
+        assertNull(ValueReader.readDate(null));
+    }
+
+    @Test
+    public void readDate_randomText_sameAsParse() {
+        char[] alphabet = {'0', '1', '2', '9', '-', '+'};
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String text = randomText(random, alphabet, 13);
+            assertEquals(parseDateOrNull(text), ValueReader.readDate(text), text);
+            String shaped = String.format("%04d-%02d-%02d",
+                    random.nextInt(10000), random.nextInt(14), random.nextInt(33));
+            assertEquals(parseDateOrNull(shaped), ValueReader.readDate(shaped), shaped);
+        }
+    }
+
+    @Test
+    public void readIntEpochDayDate_beyondIntEpochDay_null() {
+        LocalDate latest = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+        LocalDate earliest = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+        assertEquals(latest, ValueReader.readIntEpochDayDate(latest.toString()));
+        assertEquals(earliest, ValueReader.readIntEpochDayDate(earliest.toString()));
+        assertNull(ValueReader.readIntEpochDayDate(latest.plusDays(1).toString()));
+        assertNull(ValueReader.readIntEpochDayDate(earliest.minusDays(1).toString()));
+        assertNull(ValueReader.readIntEpochDayDate("+999999999-12-31"));
+        assertEquals(LocalDate.of(2024, 2, 29), ValueReader.readIntEpochDayDate("2024-02-29"));
+        assertNull(ValueReader.readIntEpochDayDate("2023-02-29"));
+    }
+}
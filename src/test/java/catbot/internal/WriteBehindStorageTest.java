@@ -0,0 +1,111 @@
+package catbot.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteBehindStorageTest {
+
+    private static class RecordingStorage implements JournalStorage<String, Integer> {
+        private final List<List<Integer>> batches = new ArrayList<>();
+        private boolean isFlushed = false;
+        private boolean isFailing = false;
+
+        @Override
+        public void write(String object) {
+        }
+
+        @Override
+        public String readOrDefault() {
+            return "";
+        }
+
+        @Override
+        public void setDefault(Supplier<String> supplier) {
+        }
+
+        @Override
+        public void append(Integer record) {
+            appendAll(List.of(record));
+        }
+
+        @Override
+        public void appendAll(List<Integer> records) {
+            if (isFailing) {
+                throw new RuntimeException("Disk full");
+            }
+            batches.add(new ArrayList<>(records));
+        }
+
+        @Override
+        public void flush() {
+            isFlushed = true;
+        }
+    }
+
+    @Test
+    public void flush_burstOfRecords_writtenTogetherInOrder() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        WriteBehindStorage<String, Integer> storage = new WriteBehindStorage<>(recordingStorage, 60_000, 1000);
+        for (int i = 0; i < 10; i++) {
+            storage.append(i);
+        }
+        storage.flush();
+
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)), recordingStorage.batches);
+        assertTrue(recordingStorage.isFlushed);
+    }
+
+    @Test
+    public void append_maxPendingRecords_writtenWithoutWaitingForDelay() throws InterruptedException {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        WriteBehindStorage<String, Integer> storage = new WriteBehindStorage<>(recordingStorage, 60_000, 4);
+        for (int i = 0; i < 4; i++) {
+            storage.append(i);
+        }
+
+        for (int waited = 0; waited < 5000 && recordingStorage.batches.isEmpty(); waited += 10) {
+            Thread.sleep(10);
+        }
+        storage.flush();
+        assertEquals(List.of(List.of(0, 1, 2, 3)), recordingStorage.batches);
+    }
+
+    @Test
+    public void flush_wrappedStorageFails_recordsKeptUntilWritten() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        WriteBehindStorage<String, Integer> storage = new WriteBehindStorage<>(recordingStorage, 60_000, 1000);
+        recordingStorage.isFailing = true;
+        storage.append(0);
+        storage.append(1);
+        assertThrows(RuntimeException.class, storage::flush);
+        assertThrows(RuntimeException.class, () -> storage.append(2));
+        assertThrows(RuntimeException.class, storage::flush);
+
+        recordingStorage.isFailing = false;
+        storage.flush();
+        storage.append(3);
+        storage.flush();
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3)), recordingStorage.batches);
+    }
+
+    @Test
+    public void write_overFailedRecords_dropsThemAndClearsFailure() {
+        RecordingStorage recordingStorage = new RecordingStorage();
+        WriteBehindStorage<String, Integer> storage = new WriteBehindStorage<>(recordingStorage, 60_000, 1000);
+        recordingStorage.isFailing = true;
+        storage.append(0);
+        assertThrows(RuntimeException.class, storage::flush);
+
+        // only appending fails, so writing the whole object over the records succeeds
+        storage.write("0");
+        storage.flush();
+        assertEquals(List.of(), recordingStorage.batches);
+    }
+}
@@ -0,0 +1,94 @@
+package catbot.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import catbot.bot.CatBot;
+import catbot.internal.Parser;
+import catbot.task.Task;
+import catbot.task.TaskList;
+import catbot.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CatBotBatchIoTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void takeoverExecutionLogic_script_outputWrittenAndChangesDeferredUntilFlush() {
+        String path = directory.resolve("Tasks.txt").toString();
+        TaskList taskList = new TaskList(path);
+        taskList.deferWrites(1000);
+        String script = "todo borrow book\nmark 1\nfly\nlist\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CatBotBatchIo io = new CatBotBatchIo(
+                new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), output);
+        CatBot catBot = new CatBot(taskList);
+        io.initialize();
+        catBot.initialize(io);
+        io.takeoverExecutionLogic(catBot);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(List.of("Added: 1. [ ] borrow book", "1. [X] borrow book", "! idgi ;-;", "1. [X] borrow book"),
+                List.of(lines).subList(lines.length - 4, lines.length));
+        assertFalse(Files.exists(directory.resolve("Tasks.txt.journal")));
+
+        taskList.flush();
+        assertEquals(List.of("[X] borrow book"), new TaskList(path).getTaskStrings());
+    }
+
+    @Test
+    public void takeoverExecutionLogic_findTextWithSlashes_textSearchedAsTyped() {
+        TaskList taskList = new TaskList((String) null);
+        taskList.addTask(todo("read a/b testing"));
+        taskList.addTask(todo("read a"));
+        taskList.addTask(todo("fix x /y"));
+        taskList.addTask(todo("fix x"));
+        String script = "find a/b\nfind x /y\nfind read /word\nfind fix /undone\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CatBotBatchIo io = new CatBotBatchIo(
+                new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), output);
+        CatBot catBot = new CatBot(taskList);
+        io.initialize();
+        catBot.initialize(io);
+        io.takeoverExecutionLogic(catBot);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(List.of("- [ ] read a/b testing", "- [ ] fix x /y",
+                        "- [ ] read a/b testing", "- [ ] read a", "- [ ] fix x /y", "- [ ] fix x"),
+                List.of(lines).subList(lines.length - 6, lines.length));
+    }
+
+    @Test
+    public void takeoverExecutionLogic_doneWithUndone_indicatedAsConflicting() {
+        TaskList taskList = new TaskList((String) null);
+        taskList.addTask(todo("borrow book"));
+        String script = "list /done /undone\nfind book /undone /done\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CatBotBatchIo io = new CatBotBatchIo(
+                new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), output);
+        CatBot catBot = new CatBot(taskList);
+        io.initialize();
+        catBot.initialize(io);
+        io.takeoverExecutionLogic(catBot);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(List.of("! done and undone can't be used together", "please pick just one!",
+                        "! done and undone can't be used together", "please pick just one!"),
+                List.of(lines).subList(lines.length - 4, lines.length));
+    }
+
+    private static Task todo(String description) {
+        // parsed with another delimiter, so that slashes are kept in the description
+        return Todo.createIfValidElse(Parser.with("|", true).scan(description), errors -> { }).orElseThrow();
+    }
+}
@@ -0,0 +1,143 @@
+package catbot.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import catbot.bot.CatBot;
+import catbot.task.PersistentTaskStore;
+import catbot.task.TaskList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CatBotServerIoTest {
+
+    private static List<String> readReply(BufferedReader reader) throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static BufferedReader readerOf(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static PrintWriter writerOf(Socket socket) throws IOException {
+        return new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void takeoverExecutionLogic_twoSessions_shareTaskListButNotOutput() throws Exception {
+        CatBotServerIo io = new CatBotServerIo(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        CatBot catBot = new CatBot(new TaskList(new PersistentTaskStore(new ArrayList<>())));
+        catBot.initialize(io);
+        Thread serverThread = new Thread(() -> io.takeoverExecutionLogic(catBot));
+        serverThread.start();
+
+        try (Socket first = new Socket(InetAddress.getLoopbackAddress(), io.getPort());
+                Socket second = new Socket(InetAddress.getLoopbackAddress(), io.getPort())) {
+            BufferedReader firstReader = readerOf(first);
+            BufferedReader secondReader = readerOf(second);
+            PrintWriter firstWriter = writerOf(first);
+            PrintWriter secondWriter = writerOf(second);
+            assertTrue(readReply(firstReader).get(0).startsWith("Hiya!"));
+            assertTrue(readReply(secondReader).get(0).startsWith("Hiya!"));
+
+            // commands sent together are answered in order, one reply each
+            firstWriter.print("todo read book\r\ntodo return book\n");
+            firstWriter.flush();
+            assertEquals(1, readReply(firstReader).size());
+            assertEquals(1, readReply(firstReader).size());
+
+            secondWriter.println("list");
+            assertEquals(2, readReply(secondReader).size());
+            secondWriter.println("mark 9");
+            assertTrue(readReply(secondReader).get(0).startsWith("!"));
+
+            firstWriter.println("bye");
+            assertEquals(List.of("Bye!"), readReply(firstReader));
+            assertNull(firstReader.readLine());
+
+            secondWriter.println("find read");
+            second.shutdownOutput();
+            assertEquals(1, readReply(secondReader).size());
+            assertNull(secondReader.readLine());
+        } finally {
+            io.cleanup();
+            serverThread.join();
+        }
+    }
+
+    @Test
+    public void takeoverExecutionLogic_startOfBye_otherSessionsKeepRunning() throws Exception {
+        CatBotServerIo io = new CatBotServerIo(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        CatBot catBot = new CatBot(new TaskList(new PersistentTaskStore(new ArrayList<>())));
+        catBot.initialize(io);
+        Thread serverThread = new Thread(() -> io.takeoverExecutionLogic(catBot));
+        serverThread.start();
+
+        try (Socket first = new Socket(InetAddress.getLoopbackAddress(), io.getPort());
+                Socket second = new Socket(InetAddress.getLoopbackAddress(), io.getPort())) {
+            BufferedReader firstReader = readerOf(first);
+            BufferedReader secondReader = readerOf(second);
+            PrintWriter firstWriter = writerOf(first);
+            PrintWriter secondWriter = writerOf(second);
+            readReply(firstReader);
+            readReply(secondReader);
+
+            // a start of bye is not a command, instead of closing the bot for every session
+            firstWriter.println("by");
+            assertTrue(readReply(firstReader).get(0).startsWith("!"));
+            assertTrue(io.isStillOpen());
+
+            secondWriter.println("todo read book");
+            assertEquals(1, readReply(secondReader).size());
+            firstWriter.println("list");
+            assertEquals(1, readReply(firstReader).size());
+            assertTrue(serverThread.isAlive());
+        } finally {
+            io.cleanup();
+            serverThread.join();
+        }
+    }
+
+    @Test
+    public void takeoverExecutionLogic_lastLineWithoutNewline_stillRun() throws Exception {
+        CatBotServerIo io = new CatBotServerIo(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        TaskList taskList = new TaskList(new PersistentTaskStore(new ArrayList<>()));
+        CatBot catBot = new CatBot(taskList);
+        catBot.initialize(io);
+        Thread serverThread = new Thread(() -> io.takeoverExecutionLogic(catBot));
+        serverThread.start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), io.getPort())) {
+            BufferedReader reader = readerOf(socket);
+            PrintWriter writer = writerOf(socket);
+            readReply(reader);
+
+            writer.print("todo read book\ntodo return book");
+            writer.flush();
+            socket.shutdownOutput();
+            assertEquals(1, readReply(reader).size());
+            assertEquals(1, readReply(reader).size());
+            assertNull(reader.readLine());
+            assertEquals(List.of("[ ] read book", "[ ] return book"), taskList.getTaskStrings());
+        } finally {
+            io.cleanup();
+            serverThread.join();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package catbot.task;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ColumnarTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void randomChanges_sameAsArrayList() {
+        TaskStoreAssertions.assertRandomChangesSameAsArrayList(ColumnarTaskStore::new, 3);
+    }
+
+    @Test
+    public void taskList_columnarWithStorage_reloadsSameTasks() {
+        String path = directory.resolve("Tasks.txt").toString();
+        TaskList taskList = new TaskList(path, ColumnarTaskStore::new);
+        taskList.addTask(new Todo("borrow book"));
+        taskList.addTask(new Deadline("return book", LocalDate.of(2023, 9, 22)));
+        taskList.markTask(1);
+        taskList.flush();
+
+        assertEquals(taskList.getTaskStrings(), new TaskList(path, ColumnarTaskStore::new).getTaskStrings());
+    }
+
+}
@@ -0,0 +1,129 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how the throughput of a shared TaskList grows as threads are added,
+ * for a {@link ConcurrentTaskList} and for a TaskList behind a single monitor.
+ * Each thread mostly reads tasks, sometimes searches them, and occasionally marks one.
+ * <p>
+ * Run with {@code gradlew contentionBenchmark}. Scaling is only visible on a machine with several cores.
+ */
+public class ConcurrentTaskListBenchmark {
+
+    private static final int TASK_COUNT = 10_000;
+    private static final int WRITES_PER_THOUSAND = 10;
+    private static final int SEARCHES_PER_THOUSAND = 10;
+    private static final long MEASURE_MILLIS = 1000;
+
+    /**
+     * Operations performed by each thread on the shared list.
+     */
+    private interface Operations {
+        void read(int index);
+
+        void search(int index);
+
+        void write(int index);
+    }
+
+    /**
+     * Runs the benchmark, printing operations per second for each number of threads.
+     *
+     * @param args unused.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        System.out.println("threads  concurrent ops/s  synchronized ops/s");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ConcurrentTaskList concurrent = new ConcurrentTaskList(new PersistentTaskStore(sampleTasks()));
+            TaskList plain = new TaskList(new PersistentTaskStore(sampleTasks()));
+            // the first search builds the indexes, which is not what is measured
+            concurrent.findWordsInDescriptions("task", TaskFilter.ALL);
+            plain.buildIndexes();
+            long concurrentRate = measure(threads, new Operations() {
+                @Override
+                public void read(int index) {
+                    concurrent.getTask(index);
+                }
+
+                @Override
+                public void search(int index) {
+                    concurrent.findWordsInDescriptions(String.valueOf(index), TaskFilter.ALL);
+                }
+
+                @Override
+                public void write(int index) {
+                    concurrent.markTaskIfValidElse(index + 1, ignored -> { }, ignored -> { });
+                }
+            });
+            long synchronizedRate = measure(threads, new Operations() {
+                @Override
+                public void read(int index) {
+                    synchronized (plain) {
+                        plain.getTask(index);
+                    }
+                }
+
+                @Override
+                public void search(int index) {
+                    synchronized (plain) {
+                        plain.findWordsInDescriptions(String.valueOf(index), TaskFilter.ALL);
+                    }
+                }
+
+                @Override
+                public void write(int index) {
+                    synchronized (plain) {
+                        plain.markTaskIfValidElse(index + 1, ignored -> { }, ignored -> { });
+                    }
+                }
+            });
+            System.out.printf("%7d  %16d  %18d%n", threads, concurrentRate, synchronizedRate);
+        }
+    }
+
+    private static ArrayList<Task> sampleTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        return tasks;
+    }
+
+    private static long measure(int threadCount, Operations operations) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000;
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    int index = random.nextInt(TASK_COUNT);
+                    int roll = random.nextInt(1000);
+                    if (roll < WRITES_PER_THOUSAND) {
+                        operations.write(index);
+                    } else if (roll < WRITES_PER_THOUSAND + SEARCHES_PER_THOUSAND) {
+                        operations.search(index);
+                    } else {
+                        operations.read(index);
+                    }
+                    count++;
+                }
+                completed.add(count);
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return completed.sum() * 1000 / MEASURE_MILLIS;
+    }
+
+}
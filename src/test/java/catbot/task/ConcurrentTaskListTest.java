@@ -0,0 +1,108 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentTaskListTest {
+
+    @Test
+    public void removeTaskIfValidElse_manyThreads_eachTaskRemovedOnce() throws InterruptedException {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(new PersistentTaskStore(new ArrayList<>()));
+        for (int i = 0; i < 4000; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        AtomicInteger removed = new AtomicInteger();
+        Set<String> removedDescriptions = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            // every thread removes the last task, so threads race for the same index
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1500; i++) {
+                    taskList.removeTaskIfValidElse(taskList.size(),
+                            task -> {
+                                removed.incrementAndGet();
+                                removedDescriptions.add(task.getDescription());
+                            },
+                            integer -> rejected.incrementAndGet());
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                int size = taskList.size();
+                taskList.markTaskIfValidElse(size / 2,
+                        index -> assertTrue(taskList.getTask(index).isDone()), integer -> { });
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(6000, removed.get() + rejected.get());
+        assertEquals(removed.get(), removedDescriptions.size());
+        assertEquals(4000 - removed.get(), taskList.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            assertEquals("task " + i, taskList.getTask(i).getDescription());
+        }
+    }
+
+    @Test
+    public void findInDescriptions_whileTasksAdded_findsEveryTaskAddedBefore() throws InterruptedException {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(new PersistentTaskStore(new ArrayList<>()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ArrayList<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                taskList.addTask(new Todo("book " + i));
+            }
+        }));
+        for (int t = 0; t < 3; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    int added = taskList.size();
+                    assertTrue(taskList.findInDescriptions("book", TaskFilter.ALL).size() >= added);
+                    assertTrue(taskList.findWordsInDescriptions("book", TaskFilter.ALL).size() >= added);
+                    assertTrue(taskList.findFuzzyWordsInDescriptions("bok", 1, TaskFilter.ALL).size() >= added);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(2000, taskList.findWordsInDescriptions("book", TaskFilter.ALL).size());
+    }
+
+    @Test
+    public void constructor_storeUnsafeToShare_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentTaskList(new ArrayListTaskStore(new ArrayList<>())));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentTaskList((String) null, ArrayListTaskStore::new));
+    }
+
+}
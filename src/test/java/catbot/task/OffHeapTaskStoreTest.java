@@ -0,0 +1,26 @@
+package catbot.task;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OffHeapTaskStoreTest {
+
+    @Test
+    public void randomChanges_sameAsArrayList() {
+        TaskStoreAssertions.assertRandomChangesSameAsArrayList(OffHeapTaskStore::new, 5);
+    }
+
+    @Test
+    public void add_taskLargerThanChunk_sameTask() {
+        OffHeapTaskStore store = new OffHeapTaskStore(new ArrayList<>());
+        String description = "x".repeat(3 << 20);
+        int id = store.add(new Todo(description));
+        store.add(new Todo("small"));
+        assertEquals(description, store.getDescription(id));
+        assertEquals("small", store.get(id + 1).getDescription());
+    }
+
+}
@@ -0,0 +1,80 @@
+package catbot.task;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import catbot.internal.NamedParameterMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PagedTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void open_afterFlush_sameTasks() {
+        String path = directory.resolve("Tasks").toString();
+        TaskList taskList = new TaskList(PagedTaskStore.open(path));
+        for (int i = 0; i < 20_000; i++) {
+            taskList.addTask(i % 2 == 0
+                    ? new Todo("todo " + i)
+                    : new Deadline("deadline " + i, LocalDate.of(2023, 1, 1).plusDays(i)));
+        }
+        taskList.markTask(3);
+        taskList.removeTask(0);
+        taskList.flush();
+
+        TaskList reopened = new TaskList(PagedTaskStore.open(path));
+        assertEquals(19_999, reopened.size());
+        assertEquals(taskList.getTaskStrings(), reopened.getTaskStrings());
+        assertTrue(reopened.getTask(2).isDone());
+        assertEquals(1, reopened.findInDescriptions("deadline 19999").size());
+    }
+
+    @Test
+    public void get_taskLargerThanPage_sameTask() {
+        PagedTaskStore store = PagedTaskStore.open(directory.resolve("Tasks").toString());
+        store.add(new Todo("small"));
+        String description = "x".repeat(PagedTaskStore.PAGE_SIZE * 2);
+        store.add(new Todo(description));
+        store.add(new Todo("after"));
+
+        assertEquals("small", store.getDescription(0));
+        assertEquals(description, store.get(1).getDescription());
+        assertEquals("after", store.get(2).getDescription());
+    }
+
+    @Test
+    public void open_withoutFlush_changesKept() throws IOException {
+        String path = directory.resolve("Tasks").toString();
+        TaskList taskList = new TaskList(PagedTaskStore.open(path));
+        for (int i = 0; i < 10; i++) {
+            taskList.addTask(new Todo("todo " + i));
+        }
+        taskList.flush();
+        taskList.addTask(new Event("event", LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 2)));
+        taskList.markTask(3);
+        taskList.removeTask(0);
+        taskList.editTask(1, new NamedParameterMap().addNamedParameter("description", "edited"));
+
+        // the application stops without flushing, partway through appending a change
+        try (FileOutputStream journal = new FileOutputStream(path + ".index.journal", true)) {
+            journal.write(0x80);
+        }
+        TaskList reopened = new TaskList(PagedTaskStore.open(path));
+        assertEquals(taskList.getTaskStrings(), reopened.getTaskStrings());
+
+        reopened.addTask(new Todo("after reopening"));
+        reopened.removeTask(4);
+        TaskList reopenedAgain = new TaskList(PagedTaskStore.open(path));
+        assertEquals(reopened.getTaskStrings(), reopenedAgain.getTaskStrings());
+        assertEquals(10, reopenedAgain.size());
+    }
+
+}
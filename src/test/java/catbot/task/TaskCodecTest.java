@@ -0,0 +1,168 @@
+package catbot.task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskCodecTest {
+
+    @TempDir
+    Path directory;
+
+    private static ArrayList<Task> sampleTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("borrow book"));
+        Deadline deadline = new Deadline("return book \u2713", LocalDate.of(2023, 9, 22));
+        deadline.setDone();
+        tasks.add(deadline);
+        tasks.add(new Event("project meeting", LocalDate.of(1999, 12, 31), LocalDate.of(2000, 1, 2)));
+        return tasks;
+    }
+
+    private static ArrayList<String> strings(ArrayList<Task> tasks) {
+        ArrayList<String> strings = new ArrayList<>();
+        for (Task task : tasks) {
+            strings.add(task.toString());
+        }
+        return strings;
+    }
+
+    @Test
+    public void readTasks_writtenTasks_sameTasks() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskCodec.Writer writer = new TaskCodec.Writer(bytes)) {
+            writer.writeHeader();
+            writer.writeTasks(sampleTasks());
+        }
+
+        TaskCodec.Reader reader = new TaskCodec.Reader(new ByteArrayInputStream(bytes.toByteArray()));
+        reader.readHeader();
+        ArrayList<Task> read = reader.readTasks();
+        assertEquals(strings(sampleTasks()), strings(read));
+        assertTrue(read.get(1) instanceof Deadline);
+        assertTrue(read.get(1).isDone());
+    }
+
+    @Test
+    public void readVarLong_writtenVarLong_sameValue() throws IOException {
+        long[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, Long.MAX_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskCodec.Writer writer = new TaskCodec.Writer(bytes)) {
+            for (long value : values) {
+                writer.writeVarLong(value);
+            }
+        }
+
+        TaskCodec.Reader reader = new TaskCodec.Reader(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : values) {
+            assertEquals(value, reader.readVarLong());
+        }
+    }
+
+    /**
+     * The fixture was written by the version that stored tasks with Java serialization,
+     * holding the same tasks as {@link #sampleTasks()}.
+     */
+    @Test
+    public void readOrDefault_legacyFile_migratedToBinary() throws IOException {
+        Path path = directory.resolve("Tasks.txt");
+        try (InputStream fixture = TaskCodecTest.class.getResourceAsStream("baseline-Tasks.txt")) {
+            Files.copy(fixture, path);
+        }
+
+        TaskList taskList = new TaskList(path.toString());
+        assertEquals(strings(sampleTasks()), taskList.getTaskStrings());
+        try (DataInputStream input = new DataInputStream(new FileInputStream(path.toFile()))) {
+            assertEquals(TaskCodec.MAGIC, input.readInt());
+        }
+        assertEquals(strings(sampleTasks()), new TaskList(path.toString()).getTaskStrings());
+    }
+
+    @Test
+    public void readOrDefault_unreadableFile_failsAndKeepsFile() throws IOException {
+        Path path = directory.resolve("Tasks.txt");
+        byte[] bytes;
+        try (InputStream fixture = TaskCodecTest.class.getResourceAsStream("baseline-Tasks.txt")) {
+            bytes = fixture.readAllBytes();
+        }
+        bytes = Arrays.copyOf(bytes, bytes.length / 2);
+        Files.write(path, bytes);
+
+        assertThrows(RuntimeException.class, () -> new TaskList(path.toString()));
+        assertArrayEquals(bytes, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void writeTasks_repeatedDescriptions_writtenOnceAndShared() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo(i % 2 == 0 ? "water the plants" : "water the garden"));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskCodec.Writer writer = new TaskCodec.Writer(bytes)) {
+            writer.writeTasks(tasks);
+        }
+        assertTrue(bytes.size() < 100 * 3 + 40);
+
+        ArrayList<Task> read = new TaskCodec.Reader(new ByteArrayInputStream(bytes.toByteArray())).readTasks();
+        assertEquals(strings(tasks), strings(read));
+        assertSame(read.get(0).getDescription(), read.get(2).getDescription());
+    }
+
+    @Test
+    public void readTasks_version1_descriptionsInline() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(TaskCodec.MAGIC);
+        output.writeByte(1);
+        output.writeByte(1);
+        output.writeByte(0x80);
+        output.writeByte(4);
+        output.writeBytes("book");
+
+        TaskCodec.Reader reader = new TaskCodec.Reader(new ByteArrayInputStream(bytes.toByteArray()));
+        reader.readHeader();
+        assertEquals("[X] book", reader.readTasks().get(0).toString());
+    }
+
+    @Test
+    public void readTask_corruptDescriptionLength_throwsIOException() {
+        // a Todo tag, then a length far beyond the bytes left, or one that wraps around to a negative int
+        byte[][] records = {
+            {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'x'},
+            {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01, 'x'}
+        };
+        for (byte[] record : records) {
+            TaskCodec.Reader reader = new TaskCodec.Reader(new ByteArrayInputStream(record));
+            assertThrows(IOException.class, reader::readTask);
+        }
+    }
+
+    @Test
+    public void readTasks_corruptDictionaryLength_throwsIOException() {
+        // one Task, then a dictionary of one description, sharing nothing, with a suffix far beyond the bytes left
+        byte[] list = {1, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'x'};
+        TaskCodec.Reader reader = new TaskCodec.Reader(new ByteArrayInputStream(list));
+        assertThrows(IOException.class, reader::readTasks);
+    }
+
+}
@@ -0,0 +1,125 @@
+package catbot.task;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import catbot.internal.NamedParameterMap;
+import catbot.internal.Parser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskJournalStorageTest {
+
+    @TempDir
+    Path directory;
+
+    private static Task todo(String description) {
+        return Todo.createIfValidElse(
+                Parser.with("/", true).scan(description),
+                errors -> {
+                    throw new AssertionError("Should not be invalid");
+                }
+        ).orElseThrow();
+    }
+
+    @Test
+    public void readOrDefault_afterMutations_replaysJournal() {
+        String path = directory.resolve("tasks").toString();
+        TaskList taskList = new TaskList(path);
+        taskList.addTask(todo("first"));
+        taskList.addTask(todo("second"));
+        taskList.addTask(todo("third"));
+        taskList.markTask(1);
+        taskList.removeTask(0);
+        taskList.editTask(1, new NamedParameterMap().addNamedParameter("desc", "edited"));
+        taskList.flush();
+
+        TaskList reloaded = new TaskList(path);
+        assertEquals(taskList.getTaskStrings(), reloaded.getTaskStrings());
+        assertTrue(reloaded.getTask(0).isDone());
+        assertEquals("edited", reloaded.getTask(1).getDescription());
+    }
+
+    @Test
+    public void readOrDefault_afterCompaction_keepsEveryMutation() {
+        String path = directory.resolve("tasks").toString();
+        TaskList taskList = new TaskList(path);
+        for (int i = 0; i < 3000; i++) {
+            taskList.addTask(todo("task " + i));
+            if (i % 3 == 0) {
+                taskList.markTask(i);
+            }
+        }
+        taskList.removeTask(5);
+        taskList.flush();
+
+        TaskList reloaded = new TaskList(path);
+        assertEquals(taskList.getTaskStrings(), reloaded.getTaskStrings());
+    }
+
+    @Test
+    public void write_snapshot_removesJournal() {
+        String path = directory.resolve("tasks").toString();
+        TaskJournalStorage storage = new TaskJournalStorage(path);
+        storage.setDefault(ArrayList::new);
+        ArrayList<Task> tasks = storage.readOrDefault();
+        tasks.add(todo("only"));
+        storage.append(TaskMutation.added(0, tasks.get(0)));
+        storage.write(tasks);
+
+        assertFalse(directory.resolve("tasks.journal").toFile().exists());
+        assertEquals(1, new TaskList(path).size());
+    }
+
+    @Test
+    public void readOrDefault_tornTail_cutOffSoLaterRecordsReplay() throws IOException {
+        String path = directory.resolve("tasks").toString();
+        Path journalPath = directory.resolve("tasks.journal");
+        TaskList taskList = new TaskList(path);
+        taskList.addTask(todo("first"));
+        taskList.addTask(todo("second"));
+        taskList.flush();
+        long usableLength = Files.size(journalPath);
+        // the start of a record whose write was interrupted: a sequence number, then a kind
+        try (FileOutputStream output = new FileOutputStream(journalPath.toFile(), true)) {
+            output.write(new byte[]{3, 0, 0, (byte) 0x80});
+        }
+
+        TaskList reloaded = new TaskList(path);
+        assertEquals(2, reloaded.size());
+        assertEquals(usableLength, Files.size(journalPath));
+        reloaded.addTask(todo("third"));
+        reloaded.markTask(0);
+        reloaded.flush();
+
+        TaskList reloadedAgain = new TaskList(path);
+        assertEquals(reloaded.getTaskStrings(), reloadedAgain.getTaskStrings());
+        assertEquals(3, reloadedAgain.size());
+    }
+
+    @Test
+    public void readOrDefault_corruptLengthInTail_cutOff() throws IOException {
+        String path = directory.resolve("tasks").toString();
+        Path journalPath = directory.resolve("tasks.journal");
+        TaskList taskList = new TaskList(path);
+        taskList.addTask(todo("first"));
+        taskList.addTask(todo("second"));
+        taskList.flush();
+        long usableLength = Files.size(journalPath);
+        // a record adding a Todo, whose description length is far beyond the end of the journal
+        try (FileOutputStream output = new FileOutputStream(journalPath.toFile(), true)) {
+            output.write(new byte[]{3, 0, 2, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'x'});
+        }
+
+        TaskList reloaded = new TaskList(path);
+        assertEquals(taskList.getTaskStrings(), reloaded.getTaskStrings());
+        assertEquals(usableLength, Files.size(journalPath));
+    }
+}
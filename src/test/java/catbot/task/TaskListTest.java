@@ -0,0 +1,191 @@
+package catbot.task;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void getIndexOfId_afterRemovingEarlierTask_sameTaskAtNewIndex() {
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("first"));
+        taskList.addTask(new Todo("second"));
+        taskList.addTask(new Todo("third"));
+        int id = taskList.getTaskId(2);
+
+        taskList.removeTask(0);
+
+        assertEquals(1, taskList.getIndexOfId(id));
+        assertEquals("third", taskList.getTaskById(id).getDescription());
+        assertEquals("third", taskList.getTask(1).getDescription());
+        assertEquals(-1, taskList.getIndexOfId(taskList.getTaskId(0) - 1));
+    }
+
+    @Test
+    public void findInDescriptions_withFilter_onlyMatchingTasks() {
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("borrow book"));
+        taskList.addTask(new Deadline("return book", LocalDate.of(2023, 9, 22)));
+        taskList.addTask(new Deadline("review book", LocalDate.of(2023, 9, 23)));
+        taskList.addTask(new Deadline("pay fine", LocalDate.of(2023, 9, 24)));
+        taskList.markTask(1);
+
+        TaskFilter undoneDeadlines = TaskFilter.ALL.withDone(false).withType(TaskFilter.Type.DEADLINE);
+        assertEquals(1, taskList.findInDescriptions("book", undoneDeadlines).size());
+        assertEquals("review book", taskList.findInDescriptions("book", undoneDeadlines).getTask(0).getDescription());
+        assertEquals(2, taskList.filter(undoneDeadlines).size());
+        assertEquals(2, taskList.findWordsInDescriptions("BOOK", TaskFilter.ALL.withType(TaskFilter.Type.DEADLINE))
+                .size());
+
+        taskList.removeTask(2);
+        taskList.unmarkTask(1);
+        assertEquals(2, taskList.findInDescriptions("", undoneDeadlines).size());
+        assertEquals(0, taskList.filter(TaskFilter.ALL.withDone(true)).size());
+    }
+
+    @Test
+    public void snapshot_listChangedAfterwards_snapshotUnchanged() {
+        TaskList taskList = new TaskList(new PersistentTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("first"));
+        taskList.addTask(new Todo("second"));
+        TaskListSnapshot snapshot = taskList.snapshot();
+
+        taskList.markTask(0);
+        taskList.removeTask(1);
+        taskList.addTask(new Todo("third"));
+
+        assertEquals(List.of("[ ] first", "[ ] second"), snapshot.getTaskStrings());
+        assertEquals("second", snapshot.getTask(1).getDescription());
+        assertEquals(List.of("[X] first", "[ ] third"), taskList.snapshot().getTaskStrings());
+    }
+
+    @Test
+    public void add_equalDescriptions_sharedByStoredTasks() {
+        PersistentTaskStore store = new PersistentTaskStore(new ArrayList<>(List.of(new Todo("water plants"))));
+        store.add(new Todo(new String("water plants")));
+        store.add(new Deadline(new String("water plants"), LocalDate.of(2023, 9, 22)));
+        store.set(0, new Todo(new String("water plants")));
+
+        assertSame(store.getDescription(0), store.getDescription(1));
+        assertSame(store.getDescription(0), store.getDescription(2));
+    }
+
+    @Test
+    public void snapshot_removedTaskChangedAfterwards_snapshotUnchanged() {
+        TaskList taskList = new TaskList(new PersistentTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("first"));
+        TaskListSnapshot snapshot = taskList.snapshot();
+
+        taskList.removeTask(0).setDone();
+
+        assertEquals(List.of("[ ] first"), snapshot.getTaskStrings());
+    }
+
+    @Test
+    public void findFuzzyWordsInDescriptions_typo_closestFirst() {
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("metting notes"));
+        taskList.addTask(new Todo("project meeting"));
+        taskList.addTask(new Todo("buy milk"));
+        taskList.removeTask(2);
+        taskList.addTask(new Todo("Meeting room"));
+
+        TaskList found = taskList.findFuzzyWordsInDescriptions("meetng", 2, TaskFilter.ALL);
+        assertEquals(List.of("[ ] project meeting", "[ ] Meeting room", "[ ] metting notes"), found.getTaskStrings());
+        assertEquals(2, taskList.findFuzzyWordsInDescriptions("meetng", 1, TaskFilter.ALL).size());
+        assertEquals(0, taskList.findFuzzyWordsInDescriptions("meetng room", 1, TaskFilter.ALL.withDone(true)).size());
+    }
+
+    @Test
+    public void findMostUrgent_afterEdits_undoneTasksBySoonestDate() {
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        taskList.addTask(new Deadline("essay", LocalDate.of(2023, 9, 30)));
+        taskList.addTask(new Todo("laundry"));
+        taskList.addTask(new Event("trip", LocalDate.of(2023, 9, 25), LocalDate.of(2023, 9, 27)));
+        taskList.addTask(new Deadline("quiz", LocalDate.of(2023, 9, 20)));
+        taskList.addTask(new Deadline("lab", LocalDate.of(2023, 9, 25)));
+        assertEquals(List.of("quiz", "trip", "lab"), descriptions(taskList.findMostUrgent(3)));
+
+        taskList.markTask(3);
+        taskList.removeTask(2);
+        assertEquals(List.of("lab", "essay"), descriptions(taskList.findMostUrgent(5)));
+
+        taskList.unmarkTask(2);
+        assertEquals(List.of("quiz"), descriptions(taskList.findMostUrgent(1)));
+    }
+
+    @Test
+    public void rollbackTransaction_mixedChanges_listAndIndexesRestored() {
+        TaskList taskList = new TaskList(new PersistentTaskStore(new ArrayList<>()));
+        taskList.addTask(new Deadline("essay", LocalDate.of(2023, 9, 30)));
+        taskList.addTask(new Todo("laundry"));
+        taskList.addTask(new Deadline("quiz", LocalDate.of(2023, 9, 20)));
+        List<String> before = taskList.getTaskStrings();
+        assertEquals(List.of("quiz", "essay"), descriptions(taskList.findMostUrgent(5)));
+
+        assertTrue(taskList.beginTransaction());
+        assertFalse(taskList.beginTransaction());
+        taskList.markTask(2);
+        taskList.removeTask(0);
+        taskList.addTask(new Deadline("lab", LocalDate.of(2023, 9, 25)));
+        taskList.removeTask(0);
+        assertEquals(List.of("lab"), descriptions(taskList.findMostUrgent(5)));
+
+        assertEquals(Optional.of(4), taskList.rollbackTransaction());
+        assertEquals(before, taskList.getTaskStrings());
+        assertEquals(List.of("quiz", "essay"), descriptions(taskList.findMostUrgent(5)));
+        assertEquals(List.of("laundry"), descriptions(taskList.findWordsInDescriptions("laundry", TaskFilter.ALL)));
+        assertEquals(Optional.empty(), taskList.rollbackTransaction());
+    }
+
+    @Test
+    public void groupingWrites_storeWritesEachChange_rejected() {
+        TaskList taskList = new TaskList(PagedTaskStore.open(directory.resolve("Tasks").toString()));
+        assertFalse(taskList.canGroupWrites());
+        assertThrows(IllegalStateException.class, taskList::beginTransaction);
+        assertThrows(IllegalStateException.class, () -> taskList.deferWrites(10));
+        assertTrue(new TaskList(new PersistentTaskStore(new ArrayList<>())).canGroupWrites());
+        taskList.flush();
+    }
+
+    @Test
+    public void commitTransaction_stored_onlyCommittedChangesReadBack() {
+        String path = directory.resolve("Tasks.txt").toString();
+        TaskList taskList = new TaskList(path);
+        taskList.addTask(new Todo("borrow book"));
+        taskList.beginTransaction();
+        taskList.addTask(new Todo("read book"));
+        taskList.markTask(0);
+        assertEquals(Optional.of(2), taskList.commitTransaction());
+        taskList.beginTransaction();
+        taskList.removeTask(1);
+        taskList.rollbackTransaction();
+        taskList.flush();
+
+        assertEquals(List.of("[X] borrow book", "[ ] read book"), new TaskList(path).getTaskStrings());
+    }
+
+    private static List<String> descriptions(TaskList taskList) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            descriptions.add(taskList.getTask(i).getDescription());
+        }
+        return descriptions;
+    }
+
+}
@@ -0,0 +1,68 @@
+package catbot.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.Function;
+
+import catbot.internal.NamedParameterMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions shared by the tests of each TaskStore.
+ */
+final class TaskStoreAssertions {
+
+    private TaskStoreAssertions() {
+    }
+
+    /**
+     * Makes the same random changes to a TaskList over the store, and to one over an ArrayListTaskStore,
+     * then asserts that both lists end up with the same tasks.
+     *
+     * @param storeFactory function that creates the store under test, from the tasks it starts with.
+     * @param seed         seed of the random changes.
+     */
+    static void assertRandomChangesSameAsArrayList(Function<ArrayList<Task>, TaskStore> storeFactory, long seed) {
+        Random random = new Random(seed);
+        TaskList actual = new TaskList(storeFactory.apply(new ArrayList<>()));
+        TaskList expected = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        for (int i = 0; i < 5000; i++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || expected.size() == 0) {
+                Task task = randomTask(random, i);
+                actual.addTask(task.copy());
+                expected.addTask(task);
+            } else if (choice < 6) {
+                int index = random.nextInt(expected.size());
+                actual.removeTask(index);
+                expected.removeTask(index);
+            } else if (choice < 8) {
+                int index = random.nextInt(expected.size());
+                actual.markTask(index);
+                expected.markTask(index);
+            } else {
+                // descriptions of different lengths, so stores that size their records move them around
+                int index = random.nextInt(expected.size());
+                String description = "edited " + i + " " + "!".repeat(random.nextInt(100));
+                actual.editTask(index, new NamedParameterMap().addNamedParameter("description", description));
+                expected.editTask(index, new NamedParameterMap().addNamedParameter("description", description));
+            }
+        }
+        assertEquals(expected.getTaskStrings(), actual.getTaskStrings());
+    }
+
+    private static Task randomTask(Random random, int i) {
+        LocalDate date = LocalDate.of(2023, 1, 1).plusDays(random.nextInt(400));
+        switch (random.nextInt(3)) {
+        case 0:
+            return new Todo("todo \u2713 " + i);
+        case 1:
+            return new Deadline("deadline " + i, date);
+        default:
+            return new Event("event " + i, date, date.plusDays(random.nextInt(5)));
+        }
+    }
+
+}
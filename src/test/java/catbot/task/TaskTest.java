@@ -1,6 +1,6 @@
 package catbot.task;
 
-import catbot.internal.NamedParameterMap;
+import catbot.internal.Parser;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
@@ -11,11 +11,9 @@ public class TaskTest {
 
     @Test
     public void DoneTest() {
-        NamedParameterMap namedParameterMap = new NamedParameterMap();
-        namedParameterMap.addNamedParameter("", "placeholder description");
         Optional<Task> optionalTask = Todo.createIfValidElse(
-                namedParameterMap,
-                (invalidParameterState, map) -> {
+                Parser.with("/", true).scan("placeholder description"),
+                errors -> {
                     throw new AssertionError("Should not be invalid");
                 });
         assert optionalTask.isPresent();
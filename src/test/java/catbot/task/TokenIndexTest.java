@@ -0,0 +1,55 @@
+package catbot.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import catbot.internal.NamedParameterMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TokenIndexTest {
+
+    private static TaskList sampleTaskList() {
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        taskList.addTask(new Todo("read Book"));
+        taskList.addTask(new Deadline("return book, then read", LocalDate.of(2023, 9, 22)));
+        taskList.addTask(new Event("bookclub meeting", LocalDate.of(2023, 9, 1), LocalDate.of(2023, 9, 2)));
+        return taskList;
+    }
+
+    private static ArrayList<String> descriptions(TaskList taskList) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            descriptions.add(taskList.getTask(i).getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void findWordsInDescriptions_wholeWordsIgnoringCase_matchesInOrder() {
+        TaskList taskList = sampleTaskList();
+        assertEquals(new ArrayList<>(List.of("read Book", "return book, then read")),
+                descriptions(taskList.findWordsInDescriptions("book")));
+        assertEquals(new ArrayList<>(List.of("return book, then read")),
+                descriptions(taskList.findWordsInDescriptions("READ return")));
+        assertEquals(0, taskList.findWordsInDescriptions("boo").size());
+        assertEquals(3, taskList.findWordsInDescriptions("").size());
+    }
+
+    @Test
+    public void findWordsInDescriptions_afterRemoveAndEdit_indexUpdated() {
+        TaskList taskList = sampleTaskList();
+        taskList.findWordsInDescriptions("book");
+
+        taskList.removeTask(0);
+        taskList.editTask(1, new NamedParameterMap().addNamedParameter("description", "book meeting"));
+        taskList.addTask(new Todo("buy book"));
+
+        assertEquals(new ArrayList<>(List.of("return book, then read", "book meeting", "buy book")),
+                descriptions(taskList.findWordsInDescriptions("book")));
+        assertEquals(0, taskList.findWordsInDescriptions("bookclub").size());
+    }
+
+}
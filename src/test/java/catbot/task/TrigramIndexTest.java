@@ -0,0 +1,69 @@
+package catbot.task;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import catbot.internal.NamedParameterMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+
+    private static final String[] WORDS = {"meeting", "read", "book", "eet", "Meet", "bookclub", "ee", "x"};
+    private static final String[] QUERIES = {"", "e", "ee", "eet", "meet", "Meet", "book read", "k r", "club", "zzz"};
+
+    private static String randomDescription(Random random) {
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = random.nextInt(3); i > 0; i--) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static ArrayList<String> scan(ArrayList<String> descriptions, String string) {
+        ArrayList<String> found = new ArrayList<>();
+        for (String description : descriptions) {
+            if (description.contains(string)) {
+                found.add(description);
+            }
+        }
+        return found;
+    }
+
+    private static ArrayList<String> descriptions(TaskList taskList) {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            descriptions.add(taskList.getTask(i).getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void findInDescriptions_randomChanges_sameAsScan() {
+        Random random = new Random(42);
+        TaskList taskList = new TaskList(new ArrayListTaskStore(new ArrayList<>()));
+        ArrayList<String> expected = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int choice = random.nextInt(10);
+            if (choice < 5 || expected.isEmpty()) {
+                String description = randomDescription(random);
+                taskList.addTask(new Todo(description));
+                expected.add(description);
+            } else if (choice < 7) {
+                int index = random.nextInt(expected.size());
+                taskList.removeTask(index);
+                expected.remove(index);
+            } else if (choice < 9) {
+                int index = random.nextInt(expected.size());
+                String description = randomDescription(random);
+                taskList.editTask(index, new NamedParameterMap().addNamedParameter("description", description));
+                expected.set(index, description);
+            } else {
+                String query = QUERIES[random.nextInt(QUERIES.length)];
+                assertEquals(scan(expected, query), descriptions(taskList.findInDescriptions(query)));
+            }
+        }
+    }
+
+}
@@ -2,22 +2,26 @@
 
 REM for my own use: set PATH=%PATH%;C:\Users\siazh\.jdks\corretto-11.0.20.1\bin
 
-REM create bin directory if it doesn't exist
-if not exist ..\bin mkdir ..\bin
-
-REM delete output from previous run
+REM delete output and tasks from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
+if exist Tasks.txt del Tasks.txt
+if exist Tasks.txt.* del Tasks.txt.*
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM build the application into a single jar
+pushd ..
+call gradlew.bat -q shadowJar
 IF ERRORLEVEL 1 (
+    popd
     echo ********** BUILD FAILURE **********
     exit /b 1
 )
+popd
 REM no error here, errorlevel == 0
 
-REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin catbot.bot.CatBot < input.txt > ACTUAL.TXT
+REM run the program in batch mode, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -jar ..\build\libs\catbot.jar --batch < input.txt > ACTUAL.TXT
+if exist Tasks.txt del Tasks.txt
+if exist Tasks.txt.* del Tasks.txt.*
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
@@ -1,26 +1,18 @@
 #!/usr/bin/env bash
 
-# create bin directory if it doesn't exist
-if [ ! -d "../bin" ]
-then
-    mkdir ../bin
-fi
-
-# delete output from previous run
-if [ -e "./ACTUAL.TXT" ]
-then
-    rm ACTUAL.TXT
-fi
+# delete output and tasks from previous run
+rm -f ACTUAL.TXT Tasks.txt Tasks.txt.*
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# build the application into a single jar, terminates if error occurred
+if ! (cd .. && ./gradlew -q shadowJar)
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
-# run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Duke < input.txt > ACTUAL.TXT
+# run the program in batch mode, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -jar ../build/libs/catbot.jar --batch < input.txt > ACTUAL.TXT
+rm -f Tasks.txt Tasks.txt.*
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT
@@ -35,4 +27,4 @@ then
 else
     echo "Test result: FAILED"
     exit 1
-fi
\ No newline at end of file
+fi